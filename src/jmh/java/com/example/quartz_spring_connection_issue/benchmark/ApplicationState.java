@@ -0,0 +1,71 @@
+package com.example.quartz_spring_connection_issue.benchmark;
+
+import com.example.quartz_spring_connection_issue.QuartzSpringConnectionIssueApplication;
+import com.example.quartz_spring_connection_issue.job.TestJob;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.quartz.JobBuilder;
+import org.quartz.JobDataMap;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.Scheduler;
+import org.quartz.TriggerBuilder;
+import org.quartz.impl.JobExecutionContextImpl;
+import org.quartz.spi.OperableTrigger;
+import org.quartz.spi.TriggerFiredBundle;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Date;
+
+/**
+ * Boots the application once per trial against the H2 {@code testdb}.
+ * {@code storeType} selects {@code benchmark-jdbc.yml} (LocalDataSourceJobStore), {@code benchmark-hybrid.yml}
+ * (HybridJobStore) or {@code benchmark-ram.yml} (RAMJobStore). The scheduler is never started, so triggers do not fire.
+ */
+@State(Scope.Benchmark)
+public class ApplicationState {
+
+    @Param({"jdbc", "hybrid", "ram"})
+    public String storeType;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(QuartzSpringConnectionIssueApplication.class)
+                .properties("spring.config.location=classpath:benchmark-" + storeType + ".yml")
+                .run();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * The context the scheduler would hand TestJob for a trigger firing now with {@code jobData}, built without
+     * a round trip through the job store.
+     */
+    public JobExecutionContext testJobContext(JobDataMap jobData) {
+        JobDetail jobDetail = JobBuilder.newJob(TestJob.class)
+                .withIdentity("benchmarkJob", "benchmark")
+                .usingJobData(jobData)
+                .build();
+        OperableTrigger trigger = (OperableTrigger) TriggerBuilder.newTrigger()
+                .withIdentity("benchmarkTrigger", "benchmark")
+                .forJob(jobDetail)
+                .build();
+        Date now = new Date();
+        TriggerFiredBundle bundle = new TriggerFiredBundle(jobDetail, trigger, null, false, now, now, null, null);
+        return new JobExecutionContextImpl(getBean(Scheduler.class), bundle, getBean(TestJob.class));
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.quartz_spring_connection_issue.benchmark;
+
+import com.example.quartz_spring_connection_issue.quartz.CompactJobDataCodec;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.quartz.JobDataMap;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-job cost of writing and reading a {@code JOB_DATA} BLOB: Java serialization of the {@link JobDataMap}, as
+ * Quartz's delegates do by default, against {@link CompactJobDataCodec}. {@code store} also reports the
+ * {@link PayloadSize} counters; {@code encodedBytes / encodes} is the payload size.
+ * <p>
+ * {@code ./gradlew jmh -PjmhIncludes=JobDataCodec}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JobDataCodecBenchmark {
+
+    @Param({"java", "compact"})
+    public String format;
+
+    @Param({"small", "large"})
+    public String payload;
+
+    private final CompactJobDataCodec codec = new CompactJobDataCodec();
+
+    private JobDataMap data;
+
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void prepare() throws IOException {
+        data = new JobDataMap();
+        data.put("tenant", "acme");
+        data.put("attempt", 3);
+        data.put("createdAt", System.currentTimeMillis());
+        data.put("dryRun", false);
+        if (payload.equals("large")) {
+            List<String> ids = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                ids.add("item-" + i);
+                data.put("param" + i, i * 31L);
+            }
+            data.put("ids", ids);
+        }
+        encoded = encode();
+    }
+
+    @Benchmark
+    public byte[] store(PayloadSize size) throws IOException {
+        byte[] bytes = encode();
+        size.encodes++;
+        size.encodedBytes += bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Map<?, ?> load() throws IOException, ClassNotFoundException {
+        if (format.equals("compact")) {
+            return codec.decode(encoded);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(encoded))) {
+            return (Map<?, ?>) in.readObject();
+        }
+    }
+
+    private byte[] encode() throws IOException {
+        if (format.equals("compact")) {
+            return codec.encode(data);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(data);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Summed over the run, so only their ratio is meaningful.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        public long encodes;
+
+        public long encodedBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            encodes = 0;
+            encodedBytes = 0;
+        }
+    }
+}
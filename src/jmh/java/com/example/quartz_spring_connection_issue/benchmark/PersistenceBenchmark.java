@@ -0,0 +1,62 @@
+package com.example.quartz_spring_connection_issue.benchmark;
+
+import com.example.quartz_spring_connection_issue.job.TestJob;
+import com.example.quartz_spring_connection_issue.service.TestService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-execution cost of TestJob and the TestService calls it makes.
+ * Rows written by the insert benchmarks stay in {@code test_data}, so countData is measured
+ * against a table that grows over the trial, as it does in production.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PersistenceBenchmark {
+
+    private TestService testService;
+
+    private TestJob testJob;
+
+    private JobExecutionContext testJobContext;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState app) {
+        testService = app.getBean(TestService.class);
+        testJob = app.getBean(TestJob.class);
+        testJobContext = app.testJobContext(new JobDataMap());
+    }
+
+    @Benchmark
+    public void saveData() {
+        testService.saveData("benchmark", "value_" + System.nanoTime());
+    }
+
+    @Benchmark
+    public long countData() {
+        return testService.countData();
+    }
+
+    @Benchmark
+    public long recountData() {
+        return testService.recountData();
+    }
+
+    // The job data names no write path, so TestJob writes through app.test-data.write-path; see TestDataWritePathBenchmark
+    @Benchmark
+    public void testJobExecute() throws JobExecutionException {
+        testJob.execute(testJobContext);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.quartz_spring_connection_issue.benchmark;
+
+import com.example.quartz_spring_connection_issue.service.SchedulerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SchedulerServiceBenchmark {
+
+    private SchedulerService schedulerService;
+
+    private Scheduler scheduler;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState app) {
+        schedulerService = app.getBean(SchedulerService.class);
+        scheduler = app.getBean(Scheduler.class);
+    }
+
+    // scheduleTestJob uses a fixed JobKey, so it has to be removed again before the next call
+    @TearDown(Level.Invocation)
+    public void deleteTestJob() throws SchedulerException {
+        scheduler.deleteJob(JobKey.jobKey("testJob", "testGroup"));
+    }
+
+    @Benchmark
+    public JobKey scheduleTestJob() throws SchedulerException {
+        return schedulerService.scheduleTestJob();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.quartz_spring_connection_issue.benchmark;
+
+import com.example.quartz_spring_connection_issue.job.TestJob;
+import com.example.quartz_spring_connection_issue.service.TestDataWritePath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares TestJob executions writing through JPA and through plain JDBC, with several threads executing the job
+ * at once the way the scheduler's thread pool does. The job store does not matter here; run it with
+ * {@code -PjmhIncludes=TestDataWritePathBenchmark} and {@code storeType=jdbc} to skip the other store types.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class TestDataWritePathBenchmark {
+
+    @Param({"jpa", "jdbc"})
+    public String writePath;
+
+    private TestJob testJob;
+
+    private JobExecutionContext context;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState app) {
+        testJob = app.getBean(TestJob.class);
+
+        JobDataMap data = new JobDataMap();
+        data.put(TestDataWritePath.JOB_DATA_KEY, writePath);
+        context = app.testJobContext(data);
+    }
+
+    @Benchmark
+    public void testJobExecute() throws JobExecutionException {
+        testJob.execute(context);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.quartz_spring_connection_issue.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.quartz.Job;
+import org.quartz.JobBuilder;
+import org.quartz.JobExecutionContext;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.TriggerBuilder;
+import org.quartz.impl.StdSchedulerFactory;
+
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fired-jobs-per-second of {@code SimpleThreadPool} against {@code VirtualThreadPool} for a job that spends its
+ * time blocked, the way TestJob blocks on JDBC. Uses a plain RAMJobStore scheduler so only the pool differs.
+ * <p>
+ * Lives in {@code src/jmh/java21}, which only the Java 21 build compiles:
+ * {@code ./gradlew -PvirtualThreads jmh -PjmhIncludes=ThreadPool}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ThreadPoolBenchmark {
+
+    private static final int JOBS_PER_INVOCATION = 500;
+
+    private static final long JOB_BLOCKING_MILLIS = 20;
+
+    private static volatile CountDownLatch fired;
+
+    @Param({"org.quartz.simpl.SimpleThreadPool", "com.example.quartz_spring_connection_issue.quartz.VirtualThreadPool"})
+    public String threadPoolClass;
+
+    @Param({"3", "50"})
+    public int threadCount;
+
+    private Scheduler scheduler;
+
+    private int batch;
+
+    @Setup(Level.Trial)
+    public void startScheduler() throws SchedulerException {
+        Properties properties = new Properties();
+        properties.setProperty("org.quartz.scheduler.instanceName", "ThreadPoolBenchmark");
+        properties.setProperty("org.quartz.scheduler.batchTriggerAcquisitionMaxCount", String.valueOf(threadCount));
+        properties.setProperty("org.quartz.jobStore.class", "org.quartz.simpl.RAMJobStore");
+        properties.setProperty("org.quartz.threadPool.class", threadPoolClass);
+        properties.setProperty("org.quartz.threadPool.threadCount", String.valueOf(threadCount));
+
+        scheduler = new StdSchedulerFactory(properties).getScheduler();
+        scheduler.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopScheduler() throws SchedulerException {
+        scheduler.shutdown(true);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JOBS_PER_INVOCATION)
+    public void fireBlockingJobs() throws Exception {
+        fired = new CountDownLatch(JOBS_PER_INVOCATION);
+        batch++;
+
+        for (int i = 0; i < JOBS_PER_INVOCATION; i++) {
+            String name = "blockingJob-" + batch + "-" + i;
+            scheduler.scheduleJob(
+                    JobBuilder.newJob(BlockingJob.class).withIdentity(name, "benchmark").build(),
+                    TriggerBuilder.newTrigger().withIdentity(name, "benchmark").startNow().build());
+        }
+
+        fired.await();
+    }
+
+    public static class BlockingJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) {
+            try {
+                Thread.sleep(JOB_BLOCKING_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                fired.countDown();
+            }
+        }
+    }
+}
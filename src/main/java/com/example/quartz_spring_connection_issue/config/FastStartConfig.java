@@ -0,0 +1,217 @@
+package com.example.quartz_spring_connection_issue.config;
+
+import jakarta.persistence.Entity;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackages;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.quartz.QuartzDataSource;
+import org.springframework.boot.autoconfigure.quartz.QuartzDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.quartz.QuartzProperties;
+import org.springframework.boot.autoconfigure.quartz.SchedulerFactoryBeanCustomizer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Fast-start mode ({@code app.fast-start.enabled=true}) for restarts against a database that already has the
+ * schema:
+ * <ul>
+ *     <li>Quartz's schema script only runs when its fingerprint differs from the one recorded in the database
+ *     ({@link FingerprintedQuartzSchemaInitializer}).</li>
+ *     <li>Hibernate's {@code ddl-auto} is switched to {@code none} when the fingerprint of the entity classes,
+ *     dialect and configured {@code ddl-auto} matches the one recorded after the last schema export.</li>
+ *     <li>The scheduler is started only once the application, including the web server, is ready, and only if
+ *     {@code spring.quartz.auto-startup} is true.</li>
+ *     <li>A breakdown of the startup phases is logged.</li>
+ * </ul>
+ * With an in-memory database nothing is recorded across restarts, so every boot still runs the DDL.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.fast-start.enabled", havingValue = "true")
+public class FastStartConfig {
+
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(FastStartConfig.class);
+
+    private static final String JPA_COMPONENT = "jpa";
+
+    private static final String DDL_AUTO = "hibernate.hbm2ddl.auto";
+
+    // Static so the post-processor is registered before the beans it times are created
+    @Bean
+    public static StartupPhaseTimings startupPhaseTimings() {
+        return new StartupPhaseTimings();
+    }
+
+    @Bean
+    public SchemaFingerprintStore schemaFingerprintStore(DataSource dataSource) {
+        return new SchemaFingerprintStore(dataSource);
+    }
+
+    // Replaces Boot's initializer, so the scheduler still waits for it through the usual initializer detection.
+    // Like Boot's, it runs the scripts against the @QuartzDataSource when there is one.
+    @Bean
+    public QuartzDataSourceScriptDatabaseInitializer quartzDataSourceScriptDatabaseInitializer(
+            DataSource dataSource, @QuartzDataSource ObjectProvider<DataSource> quartzDataSource,
+            QuartzProperties properties, SchemaFingerprintStore schemaFingerprintStore,
+            StartupPhaseTimings startupPhaseTimings) {
+        DataSource quartzDataSourceIfAvailable = quartzDataSource.getIfAvailable();
+        return new FingerprintedQuartzSchemaInitializer(
+                quartzDataSourceIfAvailable != null ? quartzDataSourceIfAvailable : dataSource,
+                properties, schemaFingerprintStore, startupPhaseTimings);
+    }
+
+    @Bean
+    public JpaSchemaFingerprint jpaSchemaFingerprint(BeanFactory beanFactory, SchemaFingerprintStore schemaFingerprintStore) {
+        return new JpaSchemaFingerprint(AutoConfigurationPackages.get(beanFactory), schemaFingerprintStore);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer skipUnchangedJpaSchemaCustomizer(JpaSchemaFingerprint jpaSchemaFingerprint) {
+        return jpaSchemaFingerprint::customize;
+    }
+
+    // FastStartListener starts the scheduler instead, if spring.quartz.auto-startup asks for it
+    @Bean
+    public SchedulerFactoryBeanCustomizer deferSchedulerStartCustomizer() {
+        return schedulerFactoryBean -> schedulerFactoryBean.setAutoStartup(false);
+    }
+
+    @Bean
+    public FastStartListener fastStartListener(StartupPhaseTimings startupPhaseTimings,
+                                               JpaSchemaFingerprint jpaSchemaFingerprint,
+                                               SchedulerFactoryBean schedulerFactoryBean,
+                                               QuartzProperties quartzProperties) {
+        return new FastStartListener(startupPhaseTimings, jpaSchemaFingerprint, schedulerFactoryBean,
+                quartzProperties.isAutoStartup());
+    }
+
+    /**
+     * Decides whether Hibernate needs to run its DDL, and records the fingerprint once it has.
+     */
+    public static class JpaSchemaFingerprint {
+
+        private final List<String> packages;
+
+        private final SchemaFingerprintStore fingerprintStore;
+
+        private volatile String pending;
+
+        JpaSchemaFingerprint(List<String> packages, SchemaFingerprintStore fingerprintStore) {
+            this.packages = packages;
+            this.fingerprintStore = fingerprintStore;
+        }
+
+        void customize(Map<String, Object> hibernateProperties) {
+            Object ddlAuto = hibernateProperties.get(DDL_AUTO);
+            if (ddlAuto == null || "none".equals(ddlAuto) || "validate".equals(ddlAuto)) {
+                return;
+            }
+            String fingerprint = fingerprint(ddlAuto, hibernateProperties.get("hibernate.dialect"));
+            if (fingerprintStore.matches(JPA_COMPONENT, fingerprint)) {
+                hibernateProperties.put(DDL_AUTO, "none");
+                log.info("JPA schema unchanged (fingerprint {}), skipping ddl-auto={}", fingerprint.substring(0, 12), ddlAuto);
+            } else {
+                pending = fingerprint;
+            }
+        }
+
+        void recordIfApplied() {
+            if (pending != null) {
+                fingerprintStore.record(JPA_COMPONENT, pending);
+                pending = null;
+            }
+        }
+
+        private String fingerprint(Object ddlAuto, Object dialect) {
+            ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+            scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+
+            MessageDigest digest = SchemaFingerprintStore.digest();
+            SchemaFingerprintStore.update(digest, String.valueOf(ddlAuto));
+            SchemaFingerprintStore.update(digest, String.valueOf(dialect));
+            packages.stream()
+                    .flatMap(basePackage -> scanner.findCandidateComponents(basePackage).stream())
+                    .map(BeanDefinition::getBeanClassName)
+                    .filter(Objects::nonNull)
+                    .sorted(Comparator.naturalOrder())
+                    .forEach(className -> {
+                        SchemaFingerprintStore.update(digest, className);
+                        String resource = className.replace('.', '/') + ".class";
+                        try (InputStream in = getClass().getClassLoader().getResourceAsStream(resource)) {
+                            if (in != null) {
+                                digest.update(in.readAllBytes());
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException("Could not read entity class " + className, e);
+                        }
+                    });
+            return SchemaFingerprintStore.hex(digest);
+        }
+    }
+
+    /**
+     * Starts the scheduler once the application is ready, unless auto-startup is off, and logs the startup breakdown.
+     */
+    public static class FastStartListener {
+
+        private final StartupPhaseTimings timings;
+
+        private final JpaSchemaFingerprint jpaSchemaFingerprint;
+
+        private final SchedulerFactoryBean schedulerFactoryBean;
+
+        private final boolean autoStartup;
+
+        FastStartListener(StartupPhaseTimings timings, JpaSchemaFingerprint jpaSchemaFingerprint,
+                          SchedulerFactoryBean schedulerFactoryBean, boolean autoStartup) {
+            this.timings = timings;
+            this.jpaSchemaFingerprint = jpaSchemaFingerprint;
+            this.schedulerFactoryBean = schedulerFactoryBean;
+            this.autoStartup = autoStartup;
+        }
+
+        @EventListener
+        public void onWebServerInitialized(WebServerInitializedEvent event) {
+            timings.checkpoint("web server listening on port " + event.getWebServer().getPort());
+        }
+
+        @EventListener
+        public void onContextRefreshed(ContextRefreshedEvent event) {
+            timings.checkpoint("context refreshed");
+        }
+
+        @EventListener
+        public void onApplicationReady(ApplicationReadyEvent event) {
+            jpaSchemaFingerprint.recordIfApplied();
+
+            if (autoStartup) {
+                long start = System.nanoTime();
+                schedulerFactoryBean.start();
+                timings.record("scheduler start (deferred until ready)", start);
+            } else {
+                log.info("spring.quartz.auto-startup is false, leaving the scheduler stopped");
+            }
+            timings.checkpoint("application ready");
+            timings.log();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.quartz_spring_connection_issue.config;
+
+import org.springframework.boot.autoconfigure.quartz.QuartzDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.quartz.QuartzProperties;
+import org.springframework.boot.sql.init.DatabaseInitializationSettings;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+
+/**
+ * Boot's Quartz schema initializer, skipped when the database already has the schema from the same scripts.
+ * The fingerprint covers the resolved script locations and their contents, so upgrading Quartz or switching
+ * databases runs the scripts again.
+ */
+public class FingerprintedQuartzSchemaInitializer extends QuartzDataSourceScriptDatabaseInitializer {
+
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(FingerprintedQuartzSchemaInitializer.class);
+
+    static final String COMPONENT = "quartz";
+
+    private final DatabaseInitializationSettings settings;
+
+    private final SchemaFingerprintStore fingerprintStore;
+
+    private final StartupPhaseTimings timings;
+
+    public FingerprintedQuartzSchemaInitializer(DataSource dataSource, QuartzProperties properties,
+                                                SchemaFingerprintStore fingerprintStore, StartupPhaseTimings timings) {
+        super(dataSource, properties);
+        this.settings = getSettings(dataSource, properties);
+        this.fingerprintStore = fingerprintStore;
+        this.timings = timings;
+    }
+
+    @Override
+    public boolean initializeDatabase() {
+        long start = System.nanoTime();
+        String fingerprint = fingerprint();
+        if (fingerprintStore.matches(COMPONENT, fingerprint)) {
+            timings.record("quartz schema (skipped, fingerprint " + fingerprint.substring(0, 12) + ")", start);
+            return false;
+        }
+
+        boolean initialized = super.initializeDatabase();
+        if (initialized) {
+            fingerprintStore.record(COMPONENT, fingerprint);
+        }
+        timings.record("quartz schema (applied)", start);
+        log.info("Quartz schema initialized, fingerprint {}", fingerprint);
+        return initialized;
+    }
+
+    private String fingerprint() {
+        ResourceLoader resourceLoader = new DefaultResourceLoader(getClass().getClassLoader());
+        MessageDigest digest = SchemaFingerprintStore.digest();
+        for (String location : settings.getSchemaLocations()) {
+            SchemaFingerprintStore.update(digest, location);
+            Resource resource = resourceLoader.getResource(location.replaceFirst("^optional:", ""));
+            if (!resource.exists()) {
+                continue;
+            }
+            try (InputStream in = resource.getInputStream()) {
+                digest.update(in.readAllBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read Quartz schema script " + location, e);
+            }
+        }
+        return SchemaFingerprintStore.hex(digest);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.quartz_spring_connection_issue.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes hit, miss and put counts and the element count of every Hibernate second-level cache region,
+ * including the query cache, tagged by region. Reads Hibernate's statistics, so it needs
+ * {@code hibernate.generate_statistics=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.generate_statistics", havingValue = "true")
+public class HibernateCacheMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    public HibernateCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            counter(registry, region, "hit", regionStatistics, CacheRegionStatistics::getHitCount);
+            counter(registry, region, "miss", regionStatistics, CacheRegionStatistics::getMissCount);
+            FunctionCounter.builder("hibernate.cache.region.puts", regionStatistics, CacheRegionStatistics::getPutCount)
+                    .description("Entries put into the second-level cache region")
+                    .tag("region", region)
+                    .register(registry);
+            Gauge.builder("hibernate.cache.region.size", regionStatistics, CacheRegionStatistics::getElementCountInMemory)
+                    .description("Entries held in the second-level cache region, -1 if the provider does not report it")
+                    .tag("region", region)
+                    .register(registry);
+        }
+        FunctionCounter.builder("hibernate.cache.query.requests", statistics, Statistics::getQueryCacheHitCount)
+                .description("Query cache lookups")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("hibernate.cache.query.requests", statistics, Statistics::getQueryCacheMissCount)
+                .description("Query cache lookups")
+                .tag("result", "miss")
+                .register(registry);
+    }
+
+    private static void counter(MeterRegistry registry, String region, String result,
+                                CacheRegionStatistics regionStatistics, ToDoubleFunction<CacheRegionStatistics> count) {
+        FunctionCounter.builder("hibernate.cache.region.requests", regionStatistics, count)
+                .description("Second-level cache region lookups")
+                .tags("region", region, "result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.quartz_spring_connection_issue.config;
+
+import com.example.quartz_spring_connection_issue.job.TestDataAggregationJob;
+import com.example.quartz_spring_connection_issue.job.TestDataRetentionJob;
+import com.example.quartz_spring_connection_issue.quartz.GroupTaggingJobFactory;
+import com.example.quartz_spring_connection_issue.quartz.TransactionalJobFactory;
+import org.quartz.CronScheduleBuilder;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.JobListener;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.quartz.TriggerListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.quartz.SchedulerFactoryBeanCustomizer;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class QuartzConfig {
+
+    // Spring Boot does not register listener beans with the scheduler on its own
+    @Bean
+    public SchedulerFactoryBeanCustomizer globalListenersCustomizer(List<JobListener> jobListeners,
+                                                                    List<TriggerListener> triggerListeners) {
+        return schedulerFactoryBean -> {
+            schedulerFactoryBean.setGlobalJobListeners(jobListeners.toArray(JobListener[]::new));
+            schedulerFactoryBean.setGlobalTriggerListeners(triggerListeners.toArray(TriggerListener[]::new));
+        };
+    }
+
+    // Replaces Boot's SpringBeanJobFactory; see TransactionalJobFactory
+    @Bean
+    @ConditionalOnProperty(name = "app.scheduler.job-unit-of-work.enabled", havingValue = "true")
+    public SchedulerFactoryBeanCustomizer transactionalJobFactoryCustomizer(ApplicationContext applicationContext,
+                                                                            PlatformTransactionManager transactionManager) {
+        return schedulerFactoryBean -> {
+            TransactionalJobFactory jobFactory = new TransactionalJobFactory(transactionManager);
+            jobFactory.setApplicationContext(applicationContext);
+            schedulerFactoryBean.setJobFactory(jobFactory);
+        };
+    }
+
+    // Replaces Boot's SpringBeanJobFactory so GroupFairThreadPool sees job groups; TransactionalJobFactory does too
+    @Bean
+    @ConditionalOnProperty(name = "app.scheduler.job-unit-of-work.enabled", havingValue = "false", matchIfMissing = true)
+    public SchedulerFactoryBeanCustomizer groupTaggingJobFactoryCustomizer(ApplicationContext applicationContext) {
+        return schedulerFactoryBean -> {
+            GroupTaggingJobFactory jobFactory = new GroupTaggingJobFactory();
+            jobFactory.setApplicationContext(applicationContext);
+            schedulerFactoryBean.setJobFactory(jobFactory);
+        };
+    }
+
+    @Bean
+    public JobDetail testDataRetentionJobDetail() {
+        return JobBuilder.newJob(TestDataRetentionJob.class)
+                .withIdentity("testDataRetention", "maintenance")
+                .storeDurably()
+                .build();
+    }
+
+    @Bean
+    public Trigger testDataRetentionTrigger(JobDetail testDataRetentionJobDetail,
+                                            @Value("${app.test-data.retention.interval:10m}") Duration interval) {
+        return TriggerBuilder.newTrigger()
+                .forJob(testDataRetentionJobDetail)
+                .withIdentity("testDataRetention", "maintenance")
+                .startNow()
+                .withSchedule(SimpleScheduleBuilder.simpleSchedule()
+                        .withIntervalInMilliseconds(interval.toMillis())
+                        .repeatForever()
+                        .withMisfireHandlingInstructionNextWithRemainingCount())
+                .build();
+    }
+
+    @Bean
+    public JobDetail testDataAggregationJobDetail() {
+        return JobBuilder.newJob(TestDataAggregationJob.class)
+                .withIdentity("testDataAggregation", "maintenance")
+                .storeDurably()
+                .build();
+    }
+
+    @Bean
+    public Trigger testDataAggregationTrigger(JobDetail testDataAggregationJobDetail,
+                                              @Value("${app.test-data.aggregation.cron:0 0 2 * * ?}") String cron) {
+        return TriggerBuilder.newTrigger()
+                .forJob(testDataAggregationJobDetail)
+                .withIdentity("testDataAggregation", "maintenance")
+                .withSchedule(CronScheduleBuilder.cronSchedule(cron)
+                        .withMisfireHandlingInstructionFireAndProceed())
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.quartz_spring_connection_issue.config;
+
+import com.example.quartz_spring_connection_issue.datasource.ReadOnlyRoutingDataSource;
+import com.example.quartz_spring_connection_issue.datasource.ReplicaHealthMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.quartz.QuartzDataSource;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read replica routing, enabled by setting {@code app.datasource.replica.url}.
+ * <p>
+ * The application's {@code @Primary} DataSource becomes a {@link ReadOnlyRoutingDataSource}: read-only
+ * transactions such as {@code TestService.countData()} go to the replica while it is healthy and within
+ * {@code app.datasource.replica.max-lag}, everything else goes to the primary. Quartz gets the primary directly
+ * through {@link QuartzDataSource}, so {@code springTxDataSource} and {@code springNonTxDataSource} never route.
+ * A read-only call that joins an existing read-write transaction keeps using that transaction's primary
+ * connection; {@code countData()} instead starts its own read-only transaction while the replica is usable, so
+ * it still reads from the replica inside a {@code @JobScopedTransaction} job.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+public class ReadReplicaConfig {
+
+    @Bean
+    @QuartzDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(@Value("${app.datasource.replica.url}") String url,
+                                              @Value("${app.datasource.replica.username:sa}") String username,
+                                              @Value("${app.datasource.replica.password:}") String password,
+                                              @Value("${app.datasource.replica.maximum-pool-size:10}") int maximumPoolSize) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("replica");
+        replica.setJdbcUrl(url);
+        replica.setUsername(username);
+        replica.setPassword(password);
+        replica.setMaximumPoolSize(maximumPoolSize);
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService replicaHealthChecker(ReplicaHealthMonitor replicaHealthMonitor,
+                                                        @Value("${app.datasource.replica.check-interval:1s}") Duration interval) {
+        ScheduledExecutorService checker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checker.scheduleWithFixedDelay(replicaHealthMonitor::check, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        return checker;
+    }
+
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                     @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                                     @Value("${app.datasource.replica.max-lag:5s}") Duration maxLag,
+                                                     MeterRegistry meterRegistry) {
+        return new ReplicaHealthMonitor(primaryDataSource, replicaDataSource, maxLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaHealthMonitor replicaHealthMonitor,
+                                 MeterRegistry meterRegistry) {
+        return ReadOnlyRoutingDataSource.lazy(primaryDataSource, replicaDataSource, replicaHealthMonitor, meterRegistry);
+    }
+}
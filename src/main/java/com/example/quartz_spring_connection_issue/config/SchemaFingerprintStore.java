@@ -0,0 +1,69 @@
+package com.example.quartz_spring_connection_issue.config;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Remembers, per schema component, a fingerprint of the DDL last applied to the database, in the
+ * {@code app_schema_fingerprint} table. Neither Hibernate nor the Quartz script manages that table, so it
+ * survives their DDL.
+ */
+public class SchemaFingerprintStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SchemaFingerprintStore(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS app_schema_fingerprint ("
+                + "component VARCHAR(64) NOT NULL PRIMARY KEY, "
+                + "fingerprint VARCHAR(64) NOT NULL, "
+                + "applied_at TIMESTAMP NOT NULL)");
+    }
+
+    public boolean matches(String component, String fingerprint) {
+        return find(component).map(fingerprint::equals).orElse(false);
+    }
+
+    public Optional<String> find(String component) {
+        List<String> found = jdbcTemplate.queryForList(
+                "SELECT fingerprint FROM app_schema_fingerprint WHERE component = ?", String.class, component);
+        return found.stream().findFirst();
+    }
+
+    public void record(String component, String fingerprint) {
+        Timestamp now = Timestamp.from(Instant.now());
+        int updated = jdbcTemplate.update(
+                "UPDATE app_schema_fingerprint SET fingerprint = ?, applied_at = ? WHERE component = ?",
+                fingerprint, now, component);
+        if (updated == 0) {
+            jdbcTemplate.update("INSERT INTO app_schema_fingerprint (component, fingerprint, applied_at) VALUES (?, ?, ?)",
+                    component, fingerprint, now);
+        }
+    }
+
+    public static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static String hex(MessageDigest digest) {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+}
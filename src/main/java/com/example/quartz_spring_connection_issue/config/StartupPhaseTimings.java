@@ -0,0 +1,64 @@
+package com.example.quartz_spring_connection_issue.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects how long each startup phase took and logs the breakdown once the application is ready.
+ * <p>
+ * Also a {@link BeanPostProcessor} that times the initialization of the beans that do the heavy lifting at
+ * startup: the JPA {@code entityManagerFactory} (including Hibernate DDL) and the {@code quartzScheduler}.
+ */
+public class StartupPhaseTimings implements BeanPostProcessor {
+
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(StartupPhaseTimings.class);
+
+    private static final Set<String> TIMED_BEANS = Set.of("entityManagerFactory", "quartzScheduler");
+
+    private final List<String> phases = new ArrayList<>();
+
+    private final Map<String, Long> beanStarts = new ConcurrentHashMap<>();
+
+    /**
+     * Records a phase that started at {@code startNanos} ({@link System#nanoTime()}) and ends now.
+     */
+    public synchronized void record(String phase, long startNanos) {
+        phases.add(String.format("  %-60s %6d ms", phase, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)));
+    }
+
+    /**
+     * Records a point in time, measured from JVM start.
+     */
+    public synchronized void checkpoint(String name) {
+        long sinceJvmStart = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        phases.add(String.format("  %-60s %6d ms since JVM start", name, sinceJvmStart));
+    }
+
+    public synchronized void log() {
+        log.info("Startup phase timings:\n{}", String.join("\n", phases));
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (TIMED_BEANS.contains(beanName)) {
+            beanStarts.put(beanName, System.nanoTime());
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Long start = beanStarts.remove(beanName);
+        if (start != null) {
+            record("bean " + beanName, start);
+        }
+        return bean;
+    }
+}
@@ -1,10 +1,23 @@
 package com.example.quartz_spring_connection_issue.controller;
 
+import com.example.quartz_spring_connection_issue.service.BatchScheduleResult;
+import com.example.quartz_spring_connection_issue.service.ClearJobsProgress;
+import com.example.quartz_spring_connection_issue.service.ScheduleIngestionQueue;
 import com.example.quartz_spring_connection_issue.service.SchedulerService;
+import com.example.quartz_spring_connection_issue.service.TestDataWritePath;
+import org.quartz.JobKey;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api")
@@ -14,8 +27,11 @@ public class TestController {
 
     private final SchedulerService schedulerService;
 
-    public TestController(SchedulerService schedulerService) {
+    private final ScheduleIngestionQueue scheduleIngestionQueue;
+
+    public TestController(SchedulerService schedulerService, ScheduleIngestionQueue scheduleIngestionQueue) {
         this.schedulerService = schedulerService;
+        this.scheduleIngestionQueue = scheduleIngestionQueue;
     }
 
     @PostMapping("/schedule")
@@ -24,9 +40,55 @@ public class TestController {
         return "Job scheduled";
     }
 
+    @PostMapping("/schedule/async")
+    public String scheduleJobAsync() {
+        return scheduleIngestionQueue.submit()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Schedule queue is full"));
+    }
+
+    @GetMapping("/schedule/async/{trackingId}")
+    public String scheduleJobAsyncStatus(@PathVariable String trackingId) {
+        return scheduleIngestionQueue.getStatus(trackingId)
+                .map(Enum::name)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown tracking id"));
+    }
+
+    @PostMapping("/schedule/batch")
+    public String scheduleJobs(@RequestParam(defaultValue = "100") int count,
+                               @RequestParam(required = false) String writePath) throws Exception {
+        TestDataWritePath path = null;
+        if (writePath != null) {
+            try {
+                path = TestDataWritePath.from(writePath);
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown write path: " + writePath);
+            }
+        }
+        BatchScheduleResult result;
+        try {
+            result = schedulerService.scheduleTestJobs(count, path);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return String.format("%d jobs scheduled in %d ms (%.1f jobs/s)",
+                result.scheduled(), result.elapsed().toMillis(), result.jobsPerSecond());
+    }
+
     @DeleteMapping("/clear")
-    public String clearJobs() throws Exception {
-        schedulerService.clearJobs();
-        return "Jobs cleared";
+    public String clearJobs(@RequestParam(required = false) String group,
+                            @RequestParam(defaultValue = "false") boolean prefix) throws Exception {
+        if (group == null) {
+            schedulerService.clearJobs();
+            return "Jobs cleared";
+        }
+
+        GroupMatcher<JobKey> matcher = prefix ? GroupMatcher.jobGroupStartsWith(group) : GroupMatcher.jobGroupEquals(group);
+        ClearJobsProgress result = schedulerService.clearJobs(matcher);
+        return String.format("%d jobs cleared from %s in %d ms", result.deleted(), result.scope(), result.elapsed().toMillis());
+    }
+
+    @GetMapping("/clear/progress")
+    public List<ClearJobsProgress> clearProgress() {
+        return schedulerService.getClearProgress();
     }
 }
\ No newline at end of file
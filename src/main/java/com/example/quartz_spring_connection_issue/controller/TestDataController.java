@@ -0,0 +1,67 @@
+package com.example.quartz_spring_connection_issue.controller;
+
+import com.example.quartz_spring_connection_issue.service.TestDataExportService;
+import com.example.quartz_spring_connection_issue.service.TestDataPage;
+import com.example.quartz_spring_connection_issue.service.TestDataQueryService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/data")
+public class TestDataController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final TestDataExportService testDataExportService;
+
+    private final TestDataQueryService testDataQueryService;
+
+    public TestDataController(TestDataExportService testDataExportService, TestDataQueryService testDataQueryService) {
+        this.testDataExportService = testDataExportService;
+        this.testDataQueryService = testDataQueryService;
+    }
+
+    /**
+     * Keyset-paginated listing. Pass the previous response's {@code nextCursor} as {@code cursor} with the same
+     * {@code sort} to get the next page.
+     */
+    @GetMapping
+    public TestDataPage page(@RequestParam(defaultValue = "id") String sort,
+                             @RequestParam(required = false) String cursor,
+                             @RequestParam(defaultValue = "50") int size) {
+        TestDataQueryService.SortKey sortKey;
+        try {
+            sortKey = TestDataQueryService.SortKey.valueOf(sort.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "sort must be id or name");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        try {
+            return testDataQueryService.page(sortKey, cursor, size);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Streams every TestData row as NDJSON. The body is written after the handler returns, on an async
+     * thread, so the export's read-only transaction is opened there rather than on the request thread.
+     * The whole stream must finish within {@code spring.mvc.async.request-timeout}.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = testDataExportService::exportNdjson;
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+}
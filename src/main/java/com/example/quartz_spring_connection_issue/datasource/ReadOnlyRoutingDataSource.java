@@ -0,0 +1,65 @@
+package com.example.quartz_spring_connection_issue.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Routes connections for read-only transactions to the replica while {@link ReplicaHealthMonitor} reports it
+ * usable, and everything else to the primary.
+ * <p>
+ * The routing decision needs the transaction's read-only flag, which is only set after the transaction manager
+ * has asked for a connection, so this must be used behind a {@link LazyConnectionDataSourceProxy}
+ * (see {@link #lazy(DataSource, DataSource, ReplicaHealthMonitor, MeterRegistry)}).
+ */
+public class ReadOnlyRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final ReplicaHealthMonitor health;
+
+    private final Counter replicaRoutes;
+
+    private final Counter fallbacks;
+
+    public ReadOnlyRoutingDataSource(DataSource primary, DataSource replica, ReplicaHealthMonitor health,
+                                     MeterRegistry registry) {
+        this.health = health;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+
+        this.replicaRoutes = Counter.builder("datasource.routing.read.only")
+                .description("Read-only transactions routed by the replica DataSource")
+                .tag("target", "replica")
+                .register(registry);
+        this.fallbacks = Counter.builder("datasource.routing.read.only")
+                .description("Read-only transactions routed by the replica DataSource")
+                .tag("target", "primary")
+                .register(registry);
+    }
+
+    public static DataSource lazy(DataSource primary, DataSource replica, ReplicaHealthMonitor health,
+                                  MeterRegistry registry) {
+        return new LazyConnectionDataSourceProxy(new ReadOnlyRoutingDataSource(primary, replica, health, registry));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Target.PRIMARY;
+        }
+        if (health.isUsable()) {
+            replicaRoutes.increment();
+            return Target.REPLICA;
+        }
+        fallbacks.increment();
+        return Target.PRIMARY;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.quartz_spring_connection_issue.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides whether the read replica may serve read-only transactions.
+ * <p>
+ * On every {@link #check()} the primary bumps a timestamp in the one-row {@code replica_heartbeat} table and
+ * the replica's copy of that row is read back; the difference is the replication lag. The replica is usable
+ * while that read succeeds and the lag stays within {@code maxLag}. Any failure marks it unusable until the
+ * next successful check, so reads fall back to the primary.
+ */
+public class ReplicaHealthMonitor {
+
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(ReplicaHealthMonitor.class);
+
+    private final JdbcTemplate primary;
+
+    private final JdbcTemplate replica;
+
+    private final long maxLagMillis;
+
+    private final AtomicLong lagMillis = new AtomicLong(-1);
+
+    private volatile boolean usable;
+
+    public ReplicaHealthMonitor(DataSource primary, DataSource replica, Duration maxLag, MeterRegistry registry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.replica.setQueryTimeout(2);
+        this.maxLagMillis = maxLag.toMillis();
+
+        this.primary.execute("CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT NOT NULL PRIMARY KEY, beat BIGINT NOT NULL)");
+        if (this.primary.update("UPDATE replica_heartbeat SET beat = ? WHERE id = 1", System.currentTimeMillis()) == 0) {
+            this.primary.update("INSERT INTO replica_heartbeat (id, beat) VALUES (1, ?)", System.currentTimeMillis());
+        }
+
+        Gauge.builder("datasource.replica.usable", this, m -> m.isUsable() ? 1 : 0)
+                .description("1 while read-only transactions are routed to the replica")
+                .register(registry);
+        Gauge.builder("datasource.replica.lag", lagMillis, AtomicLong::get)
+                .description("Replication lag in milliseconds measured by the heartbeat, -1 if unknown")
+                .register(registry);
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    public long getLagMillis() {
+        return lagMillis.get();
+    }
+
+    public void check() {
+        boolean wasUsable = usable;
+        try {
+            long now = System.currentTimeMillis();
+            primary.update("UPDATE replica_heartbeat SET beat = ? WHERE id = 1", now);
+            List<Long> beats = replica.queryForList("SELECT beat FROM replica_heartbeat WHERE id = 1", Long.class);
+            if (beats.isEmpty()) {
+                lagMillis.set(-1);
+                usable = false;
+            } else {
+                long lag = Math.max(0, System.currentTimeMillis() - beats.get(0));
+                lagMillis.set(lag);
+                usable = lag <= maxLagMillis;
+            }
+        } catch (Exception e) {
+            lagMillis.set(-1);
+            usable = false;
+            if (wasUsable) {
+                log.warn("Read replica check failed, routing reads to the primary: {}", e.getMessage());
+            }
+            return;
+        }
+        if (wasUsable != usable) {
+            log.info("Read replica {} (lag {} ms, max {} ms)", usable ? "usable" : "not usable, routing reads to the primary",
+                    lagMillis.get(), maxLagMillis);
+        }
+    }
+}
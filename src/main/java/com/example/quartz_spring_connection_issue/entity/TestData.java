@@ -1,15 +1,38 @@
 package com.example.quartz_spring_connection_issue.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Objects;
 
 @Entity
-@Table(name = "test_data")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "test_data", indexes = {
+        // Keyset pagination by name seeks on (name, id); paging by id uses the primary key
+        @Index(name = "idx_test_data_name_id", columnList = "name, id"),
+        // Retention deletes whole buckets at a time
+        @Index(name = "idx_test_data_time_bucket", columnList = "time_bucket")
+})
 public class TestData {
 
+    /**
+     * Width of a retention bucket. Changing it re-buckets only new rows, so existing buckets are purged late.
+     */
+    public static final long BUCKET_MILLIS = Duration.ofHours(1).toMillis();
+
+    /**
+     * Ids handed out per {@code test_data_seq} value. Writers outside Hibernate must reserve ids the same way.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled sequence instead of IDENTITY so Hibernate can batch inserts (hibernate.jdbc.batch_size)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "test_data_seq")
+    @SequenceGenerator(name = "test_data_seq", sequenceName = "test_data_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     private String name;
@@ -17,12 +40,31 @@ public class TestData {
     @Column(name = "data_value")
     private String value;
 
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "time_bucket", nullable = false, updatable = false)
+    private Long timeBucket;
+
+    public static long bucketOf(Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli(), BUCKET_MILLIS);
+    }
+
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = Instant.now();
+        }
+        timeBucket = bucketOf(createdAt);
+    }
+
     @Override
     public String toString() {
         return "TestData{" +
                 "id=" + id +
                 ", name='" + name + '\'' +
                 ", value='" + value + '\'' +
+                ", createdAt=" + createdAt +
                 '}';
     }
 
@@ -65,4 +107,16 @@ public class TestData {
     public void setValue(String value) {
         this.value = value;
     }
-}
\ No newline at end of file
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Long getTimeBucket() {
+        return timeBucket;
+    }
+}
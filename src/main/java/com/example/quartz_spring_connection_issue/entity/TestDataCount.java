@@ -0,0 +1,46 @@
+package com.example.quartz_spring_connection_issue.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * One stripe of the maintained {@code test_data} row count. Writers add to a stripe chosen per thread,
+ * readers sum all stripes, so concurrent inserts rarely wait on the same row lock.
+ */
+@Entity
+@Table(name = "test_data_count")
+public class TestDataCount {
+
+    @Id
+    private Integer stripe;
+
+    @Column(name = "row_count", nullable = false)
+    private long rowCount;
+
+    protected TestDataCount() {
+    }
+
+    public TestDataCount(Integer stripe, long rowCount) {
+        this.stripe = stripe;
+        this.rowCount = rowCount;
+    }
+
+    @Override
+    public String toString() {
+        return "TestDataCount{" +
+                "stripe=" + stripe +
+                ", rowCount=" + rowCount +
+                '}';
+    }
+
+    public Integer getStripe() {
+        return stripe;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public void setRowCount(long rowCount) {
+        this.rowCount = rowCount;
+    }
+}
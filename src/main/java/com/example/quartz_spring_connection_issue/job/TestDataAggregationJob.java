@@ -0,0 +1,60 @@
+package com.example.quartz_spring_connection_issue.job;
+
+import com.example.quartz_spring_connection_issue.quartz.ForkJoinJobExecutor;
+import com.example.quartz_spring_connection_issue.quartz.ForkJoinRangeJob;
+import com.example.quartz_spring_connection_issue.repository.TestDataRepository;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.JobExecutionContext;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Nightly row count per {@code test_data} name, computed in parallel over id partitions.
+ * The job result is the merged {@code name -> rows} map.
+ */
+@Component
+@DisallowConcurrentExecution
+public class TestDataAggregationJob extends ForkJoinRangeJob<Map<String, Long>> {
+
+    private final TestDataRepository testDataRepository;
+
+    public TestDataAggregationJob(ForkJoinJobExecutor executor, TestDataRepository testDataRepository) {
+        super(executor);
+        this.testDataRepository = testDataRepository;
+    }
+
+    @Override
+    protected Range inputRange(JobExecutionContext context) {
+        Long min = testDataRepository.findMinId();
+        Long max = testDataRepository.findMaxId();
+        return min == null ? Range.empty() : new Range(min, max + 1);
+    }
+
+    @Override
+    protected Map<String, Long> processPartition(long from, long to) {
+        Map<String, Long> counts = new HashMap<>();
+        for (TestDataRepository.NameCount row : testDataRepository.countByNameInRange(from, to)) {
+            counts.put(row.getName(), row.getRowCount());
+        }
+        return counts;
+    }
+
+    @Override
+    protected Map<String, Long> emptyResult() {
+        return Map.of();
+    }
+
+    @Override
+    protected Map<String, Long> combine(Map<String, Long> left, Map<String, Long> right) {
+        Map<String, Long> merged = new HashMap<>(left);
+        right.forEach((name, rows) -> merged.merge(name, rows, Long::sum));
+        return merged;
+    }
+
+    @Override
+    protected boolean readOnly() {
+        return true;
+    }
+}
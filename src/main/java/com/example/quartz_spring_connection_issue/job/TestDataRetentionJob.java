@@ -0,0 +1,35 @@
+package com.example.quartz_spring_connection_issue.job;
+
+import com.example.quartz_spring_connection_issue.service.TestDataRetentionService;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+@Component
+@DisallowConcurrentExecution
+public class TestDataRetentionJob implements Job {
+
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(TestDataRetentionJob.class);
+
+    private final TestDataRetentionService retentionService;
+
+    public TestDataRetentionJob(TestDataRetentionService retentionService) {
+        this.retentionService = retentionService;
+    }
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        try {
+            long purged = retentionService.purgeExpired(Instant.now());
+            context.setResult(purged);
+            log.info("TestData retention purged {} rows", purged);
+        } catch (Exception e) {
+            log.error("TestData retention failed", e);
+            throw new JobExecutionException(e);
+        }
+    }
+}
@@ -1,20 +1,34 @@
 package com.example.quartz_spring_connection_issue.job;
 
+import com.example.quartz_spring_connection_issue.quartz.JobScopedTransaction;
+import com.example.quartz_spring_connection_issue.service.TestDataWritePath;
+import com.example.quartz_spring_connection_issue.service.TestDataWriteBehindBuffer;
 import com.example.quartz_spring_connection_issue.service.TestService;
 import org.quartz.Job;
+import org.quartz.JobDataMap;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
+@JobScopedTransaction
 public class TestJob implements Job {
 
     private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(TestJob.class);
 
     private final TestService testService;
 
-    public TestJob(TestService testService) {
+    private final TestDataWriteBehindBuffer writeBehindBuffer;
+
+    private final TestDataWritePath defaultWritePath;
+
+    public TestJob(TestService testService,
+                   TestDataWriteBehindBuffer writeBehindBuffer,
+                   @Value("${app.test-data.write-path:jpa}") String defaultWritePath) {
         this.testService = testService;
+        this.writeBehindBuffer = writeBehindBuffer;
+        this.defaultWritePath = TestDataWritePath.from(defaultWritePath);
     }
 
     @Override
@@ -22,8 +36,13 @@ public class TestJob implements Job {
         try {
             log.info("=== TestJob executing ===");
 
-            // Save data within transaction
-            testService.saveData("job_data", "value_" + System.currentTimeMillis());
+            // Save data within transaction, or hand it to the write-behind buffer
+            String value = "value_" + System.currentTimeMillis();
+            if (writeBehindBuffer.isEnabled()) {
+                writeBehindBuffer.add("job_data", value);
+            } else {
+                testService.saveData("job_data", value, writePath(context));
+            }
 
             // Check data count
             long count = testService.countData();
@@ -35,4 +54,11 @@ public class TestJob implements Job {
             throw new JobExecutionException(e);
         }
     }
-}
\ No newline at end of file
+
+    private TestDataWritePath writePath(JobExecutionContext context) {
+        JobDataMap data = context.getMergedJobDataMap();
+        return data.containsKey(TestDataWritePath.JOB_DATA_KEY)
+                ? TestDataWritePath.from(data.getString(TestDataWritePath.JOB_DATA_KEY))
+                : defaultWritePath;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.quartz_spring_connection_issue.listener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobListener;
+import org.quartz.SchedulerException;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Publishes fire lag, execution time, vetoes and worker-pool saturation for every job, tagged by job group.
+ */
+@Component
+public class SchedulerMetricsJobListener implements JobListener {
+
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(SchedulerMetricsJobListener.class);
+
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger executing = new AtomicInteger();
+
+    private final AtomicInteger poolSize = new AtomicInteger();
+
+    public SchedulerMetricsJobListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("quartz.threadpool.active", executing, AtomicInteger::get)
+                .description("Jobs currently executing on this scheduler")
+                .register(meterRegistry);
+        Gauge.builder("quartz.threadpool.size", poolSize, AtomicInteger::get)
+                .description("Configured worker pool size")
+                .register(meterRegistry);
+        Gauge.builder("quartz.threadpool.saturation", this, l -> l.poolSize.get() == 0 ? 0 : (double) l.executing.get() / l.poolSize.get())
+                .description("Fraction of the worker pool that is busy")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return "schedulerMetricsJobListener";
+    }
+
+    @Override
+    public void jobToBeExecuted(JobExecutionContext context) {
+        executing.incrementAndGet();
+        updatePoolSize(context);
+
+        Date scheduled = context.getScheduledFireTime();
+        Date fired = context.getFireTime();
+        if (scheduled != null && fired != null) {
+            Timer.builder("quartz.trigger.fire.lag")
+                    .description("Delay between a trigger's scheduled fire time and its actual fire time")
+                    .tag("group", group(context))
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(Math.max(fired.getTime() - scheduled.getTime(), 0), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void jobExecutionVetoed(JobExecutionContext context) {
+        Counter.builder("quartz.job.vetoed")
+                .description("Job executions vetoed by a TriggerListener")
+                .tag("group", group(context))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    @Override
+    public void jobWasExecuted(JobExecutionContext context, JobExecutionException jobException) {
+        executing.decrementAndGet();
+
+        Timer.builder("quartz.job.execution")
+                .description("Job execution time")
+                .tags("group", group(context), "outcome", jobException == null ? "success" : "failure")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(context.getJobRunTime(), TimeUnit.MILLISECONDS);
+    }
+
+    private void updatePoolSize(JobExecutionContext context) {
+        if (poolSize.get() != 0) {
+            return;
+        }
+        try {
+            poolSize.set(context.getScheduler().getMetaData().getThreadPoolSize());
+        } catch (SchedulerException e) {
+            log.debug("Could not read thread pool size: {}", e.getMessage());
+        }
+    }
+
+    private static String group(JobExecutionContext context) {
+        return context.getJobDetail().getKey().getGroup();
+    }
+}
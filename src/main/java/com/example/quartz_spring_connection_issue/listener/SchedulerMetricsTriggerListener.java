@@ -0,0 +1,54 @@
+package com.example.quartz_spring_connection_issue.listener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.quartz.JobExecutionContext;
+import org.quartz.Trigger;
+import org.quartz.TriggerListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts fired, completed and misfired triggers, tagged by job group.
+ */
+@Component
+public class SchedulerMetricsTriggerListener implements TriggerListener {
+
+    private final MeterRegistry meterRegistry;
+
+    public SchedulerMetricsTriggerListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String getName() {
+        return "schedulerMetricsTriggerListener";
+    }
+
+    @Override
+    public void triggerFired(Trigger trigger, JobExecutionContext context) {
+        counter("quartz.trigger.fired", "Triggers fired", trigger).increment();
+    }
+
+    @Override
+    public boolean vetoJobExecution(Trigger trigger, JobExecutionContext context) {
+        return false;
+    }
+
+    @Override
+    public void triggerMisfired(Trigger trigger) {
+        counter("quartz.trigger.misfired", "Triggers that missed their fire time", trigger).increment();
+    }
+
+    @Override
+    public void triggerComplete(Trigger trigger, JobExecutionContext context,
+                                Trigger.CompletedExecutionInstruction triggerInstructionCode) {
+        counter("quartz.trigger.completed", "Triggers whose job execution completed", trigger).increment();
+    }
+
+    private Counter counter(String name, String description, Trigger trigger) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("group", trigger.getJobKey().getGroup())
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Chooses the trigger-acquisition batch size and fire-ahead window for each scheduler-thread loop.
+ * <p>
+ * Quartz passes {@code min(available worker threads, batchTriggerAcquisitionMaxCount)} as the ceiling. The
+ * controller acquires as many triggers as are due within {@code maxFireAheadMillis} (the backlog), up to that
+ * ceiling, and widens the fire-ahead window from the configured one towards {@code maxFireAheadMillis} as the
+ * backlog fills the batch. When thousands of triggers share a fire time they are then acquired, and fired,
+ * in a few large batches instead of one round trip each. The backlog is probed every
+ * {@code probeIntervalMillis} and reduced by what has been acquired in between.
+ */
+public class AdaptiveAcquisitionController {
+
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(AdaptiveAcquisitionController.class);
+
+    private final BacklogProbe probe;
+
+    private final long maxFireAheadMillis;
+
+    private final long probeIntervalMillis;
+
+    private final AtomicLong backlog = new AtomicLong();
+
+    private final AtomicLong batchSize = new AtomicLong(1);
+
+    private final AtomicLong fireAheadWindow = new AtomicLong();
+
+    private final DistributionSummary acquired;
+
+    private volatile long nextProbeMillis = Long.MIN_VALUE;
+
+    public AdaptiveAcquisitionController(BacklogProbe probe, long maxFireAheadMillis, long probeIntervalMillis,
+                                         MeterRegistry registry, String schedulerName) {
+        this.probe = probe;
+        this.maxFireAheadMillis = maxFireAheadMillis;
+        this.probeIntervalMillis = probeIntervalMillis;
+
+        Gauge.builder("quartz.acquisition.backlog", backlog, AtomicLong::get)
+                .description("Triggers due within the maximum fire-ahead window at the last probe")
+                .tag("scheduler", schedulerName)
+                .register(registry);
+        Gauge.builder("quartz.acquisition.batch.size", batchSize, AtomicLong::get)
+                .description("Trigger-acquisition batch size chosen for the last acquisition")
+                .tag("scheduler", schedulerName)
+                .register(registry);
+        Gauge.builder("quartz.acquisition.fire.ahead.window", fireAheadWindow, AtomicLong::get)
+                .description("Fire-ahead window in milliseconds chosen for the last acquisition")
+                .tag("scheduler", schedulerName)
+                .register(registry);
+        this.acquired = DistributionSummary.builder("quartz.acquisition.acquired")
+                .description("Triggers acquired per acquisition")
+                .tag("scheduler", schedulerName)
+                .register(registry);
+    }
+
+    public Decision decide(int maxCount, long timeWindow, long nowMillis) {
+        if (nowMillis >= nextProbeMillis) {
+            nextProbeMillis = nowMillis + probeIntervalMillis;
+            try {
+                backlog.set(probe.countDueTriggers(nowMillis + maxFireAheadMillis));
+            } catch (Exception e) {
+                log.debug("Backlog probe failed, keeping the previous estimate: {}", e.getMessage());
+            }
+        }
+
+        long due = backlog.get();
+        int batch = (int) Math.max(1, Math.min(due, maxCount));
+        double fill = maxCount <= 1 ? (due > 1 ? 1.0 : 0.0) : Math.min(1.0, (double) due / maxCount);
+        long window = Math.max(timeWindow, timeWindow + Math.round((maxFireAheadMillis - timeWindow) * fill));
+
+        batchSize.set(batch);
+        fireAheadWindow.set(window);
+        return new Decision(batch, window);
+    }
+
+    public void acquired(int count) {
+        acquired.record(count);
+        backlog.updateAndGet(current -> Math.max(0, current - count));
+    }
+
+    public record Decision(int maxCount, long timeWindow) {
+    }
+
+    @FunctionalInterface
+    public interface BacklogProbe {
+        long countDueTriggers(long noLaterThanMillis) throws Exception;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import org.quartz.JobDataMap;
+import org.quartz.impl.jdbcjobstore.HSQLDBDelegate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * {@link HSQLDBDelegate} (the delegate this application uses for H2) that writes job and trigger
+ * {@code JOB_DATA} with a {@link JobDataCodec}, {@link CompactJobDataCodec} unless a subclass overrides
+ * {@link #createJobDataCodec()}.
+ * <p>
+ * Reads accept both formats: BLOBs without the codec's header are Java-deserialized as before, so existing rows
+ * keep working and are migrated the next time Quartz rewrites them. Calendars stay Java-serialized.
+ * Has no effect with {@code useProperties=true}, which already stores job data as text.
+ * <p>
+ * The reverse does not hold: a node still on {@code StdJDBCDelegate} or {@code HSQLDBDelegate} cannot read rows
+ * written in the codec's format. A clustered fleet cannot switch with a rolling upgrade; stop every node, or drain
+ * the scheduler, before starting nodes with this delegate.
+ */
+public class CompactJobDataDelegate extends HSQLDBDelegate {
+
+    private volatile JobDataCodec codec;
+
+    protected JobDataCodec createJobDataCodec() {
+        return new CompactJobDataCodec();
+    }
+
+    // Created on first use, not in a field initializer, so an override of createJobDataCodec() runs after the
+    // subclass's own fields are initialized
+    private JobDataCodec codec() {
+        JobDataCodec current = codec;
+        if (current == null) {
+            current = createJobDataCodec();
+            codec = current;
+        }
+        return current;
+    }
+
+    @Override
+    protected ByteArrayOutputStream serializeJobData(JobDataMap data) throws IOException {
+        if (canUseProperties() || data == null) {
+            return super.serializeJobData(data);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(codec().encode(data));
+        return out;
+    }
+
+    @Override
+    protected Object getObjectFromBlob(ResultSet rs, String colName)
+            throws ClassNotFoundException, IOException, SQLException {
+        byte[] bytes = rs.getBytes(colName);
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (codec().canDecode(bytes)) {
+            return codec().decode(bytes);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+
+    @Override
+    protected Object getJobDataFromBlob(ResultSet rs, String colName)
+            throws ClassNotFoundException, IOException, SQLException {
+        if (canUseProperties()) {
+            return super.getJobDataFromBlob(rs, colName);
+        }
+        return getObjectFromBlob(rs, colName);
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BinaryOperator;
+
+/**
+ * Shared {@link ForkJoinPool} that data-parallel jobs split their input range on; see {@link ForkJoinRangeJob}.
+ * <p>
+ * A range is halved until each piece is at most {@code partitionSize} wide, and every piece runs in its own
+ * {@code REQUIRES_NEW} transaction, so on its own pooled connection. Keep {@code parallelism} plus the Quartz
+ * thread count within the connection pool size, or partitions will queue for connections instead of running;
+ * the default of 4 leaves room for the 3 Quartz threads and the web requests in Hikari's default pool of 10.
+ */
+@Component
+public class ForkJoinJobExecutor {
+
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(ForkJoinJobExecutor.class);
+
+    private final ForkJoinPool pool;
+
+    private final TransactionTemplate readWrite;
+
+    private final TransactionTemplate readOnly;
+
+    private final Timer partitionTimer;
+
+    public ForkJoinJobExecutor(PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.scheduler.fork-join.parallelism:4}") int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("app.scheduler.fork-join.parallelism must be > 0");
+        }
+        this.pool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("job-fork-join-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+
+        this.readWrite = new TransactionTemplate(transactionManager);
+        this.readWrite.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnly.setReadOnly(true);
+
+        this.partitionTimer = Timer.builder("quartz.job.partition")
+                .description("Time to run one fork-join job partition, including its transaction")
+                .register(meterRegistry);
+        log.info("Fork-join job executor started with parallelism {}", parallelism);
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Runs {@code work} over {@code [from, to)} in partitions of at most {@code partitionSize} ids and folds the
+     * partition results with {@code combiner}, starting from {@code identity}. Blocks the calling Quartz thread
+     * until every partition has finished. Partitions commit independently: when one fails the exception is
+     * rethrown here, but partitions that already committed stay committed.
+     */
+    public <R> R invoke(long from, long to, long partitionSize, boolean readOnlyWork,
+                        PartitionWork<R> work, R identity, BinaryOperator<R> combiner) {
+        if (partitionSize <= 0) {
+            throw new IllegalArgumentException("partitionSize must be > 0");
+        }
+        if (from >= to) {
+            return identity;
+        }
+        TransactionTemplate transactionTemplate = readOnlyWork ? readOnly : readWrite;
+        return pool.invoke(new PartitionTask<>(from, to, partitionSize, transactionTemplate, work, combiner));
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        pool.shutdown();
+        if (!pool.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Fork-join job partitions still running at shutdown");
+        }
+    }
+
+    /**
+     * One partition of a job's input, run inside its own transaction.
+     */
+    @FunctionalInterface
+    public interface PartitionWork<R> {
+
+        R process(long from, long to);
+    }
+
+    private class PartitionTask<R> extends RecursiveTask<R> {
+
+        private final long from;
+
+        private final long to;
+
+        private final long partitionSize;
+
+        private final TransactionTemplate transactionTemplate;
+
+        private final PartitionWork<R> work;
+
+        private final BinaryOperator<R> combiner;
+
+        PartitionTask(long from, long to, long partitionSize, TransactionTemplate transactionTemplate,
+                      PartitionWork<R> work, BinaryOperator<R> combiner) {
+            this.from = from;
+            this.to = to;
+            this.partitionSize = partitionSize;
+            this.transactionTemplate = transactionTemplate;
+            this.work = work;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected R compute() {
+            if (to - from <= partitionSize) {
+                return partitionTimer.record(() -> transactionTemplate.execute(status -> work.process(from, to)));
+            }
+            long mid = from + (to - from) / 2;
+            PartitionTask<R> left = new PartitionTask<>(from, mid, partitionSize, transactionTemplate, work, combiner);
+            PartitionTask<R> right = new PartitionTask<>(mid, to, partitionSize, transactionTemplate, work, combiner);
+            left.fork();
+            R rightResult = right.compute();
+            return combiner.apply(left.join(), rightResult);
+        }
+    }
+}
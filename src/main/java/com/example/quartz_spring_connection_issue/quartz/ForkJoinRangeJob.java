@@ -0,0 +1,100 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import org.quartz.Job;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+
+/**
+ * Base class for data-parallel jobs over an id range. {@link #execute} splits the range returned by
+ * {@link #inputRange} across the shared {@link ForkJoinJobExecutor}, runs {@link #processPartition} for each piece
+ * in its own transaction, and sets the {@link #combine combined} result as the job's
+ * {@link JobExecutionContext#setResult result}.
+ * <p>
+ * Partitions run on fork-join threads, so they never see a transaction or other thread-bound state of the Quartz
+ * thread; do not mark subclasses {@link JobScopedTransaction}. A failed partition fails the job, but partitions that
+ * already committed are not undone, so partition work should be safe to repeat.
+ * The partition width defaults to {@value #DEFAULT_PARTITION_SIZE} ids and can be set per job with the
+ * {@value #PARTITION_SIZE_KEY} JobDataMap entry.
+ */
+public abstract class ForkJoinRangeJob<R> implements Job {
+
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(ForkJoinRangeJob.class);
+
+    public static final String PARTITION_SIZE_KEY = "partitionSize";
+
+    public static final long DEFAULT_PARTITION_SIZE = 10_000L;
+
+    private final ForkJoinJobExecutor executor;
+
+    protected ForkJoinRangeJob(ForkJoinJobExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Input ids {@code [from, to)}; runs on the Quartz thread before any partition starts.
+     */
+    protected abstract Range inputRange(JobExecutionContext context);
+
+    /**
+     * Processes ids {@code [from, to)} inside that partition's own transaction, on a fork-join thread.
+     */
+    protected abstract R processPartition(long from, long to);
+
+    /**
+     * Result of an empty range; also the starting value of the fold.
+     */
+    protected abstract R emptyResult();
+
+    /**
+     * Merges two partition results. Must be associative, since partitions complete in any order.
+     */
+    protected abstract R combine(R left, R right);
+
+    /**
+     * Whether partitions only read, letting them run in read-only transactions.
+     */
+    protected boolean readOnly() {
+        return false;
+    }
+
+    @Override
+    public void execute(JobExecutionContext context) throws JobExecutionException {
+        String job = context.getJobDetail().getKey().toString();
+        try {
+            Range range = inputRange(context);
+            long partitionSize = partitionSize(context.getMergedJobDataMap());
+            long start = System.nanoTime();
+
+            R result = executor.invoke(range.from(), range.to(), partitionSize, readOnly(),
+                    this::processPartition, emptyResult(), this::combine);
+            context.setResult(result);
+
+            log.info("Job {} processed ids [{}, {}) in partitions of {} on {} threads in {} ms", job,
+                    range.from(), range.to(), partitionSize, executor.getParallelism(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Job {} failed", job, e);
+            throw new JobExecutionException(e);
+        }
+    }
+
+    private long partitionSize(JobDataMap data) {
+        Object value = data.get(PARTITION_SIZE_KEY);
+        if (value == null) {
+            return DEFAULT_PARTITION_SIZE;
+        }
+        // JobDataMaps built with usingJobData(String, String) hold strings, others hold numbers
+        return value instanceof Number number ? number.longValue() : Long.parseLong(value.toString().trim());
+    }
+
+    /**
+     * Half-open id range {@code [from, to)}.
+     */
+    public record Range(long from, long to) {
+
+        public static Range empty() {
+            return new Range(0, 0);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-group queues of jobs waiting for a worker, with a concurrency limit per group and weighted fair share
+ * between groups; the scheduling policy behind {@link GroupFairThreadPool}.
+ * <p>
+ * Fair share is stride scheduling: every dispatch advances the group's pass by {@code STRIDE / weight}, and the
+ * next job comes from the queued group with the lowest pass that is below its limit. A group with weight 3 so gets
+ * three dispatches for every one of a weight-1 group while both have work. A group that was idle rejoins at the
+ * current pass, so it cannot bank credit while it had nothing to run. Not thread-safe; the pool synchronizes on it.
+ */
+public class GroupFairShareQueue {
+
+    private static final long STRIDE = 1L << 20;
+
+    private final Map<String, Integer> limits;
+
+    private final Map<String, Integer> weights;
+
+    private final int defaultLimit;
+
+    private final int defaultWeight;
+
+    private final MeterRegistry registry;
+
+    private final String schedulerName;
+
+    private final Map<String, GroupState> groups = new LinkedHashMap<>();
+
+    private long pass;
+
+    private int queued;
+
+    private int running;
+
+    public GroupFairShareQueue(Map<String, Integer> limits, Map<String, Integer> weights,
+                               int defaultLimit, int defaultWeight,
+                               MeterRegistry registry, String schedulerName) {
+        this.limits = Map.copyOf(limits);
+        this.weights = Map.copyOf(weights);
+        this.defaultLimit = defaultLimit;
+        this.defaultWeight = defaultWeight;
+        this.registry = registry;
+        this.schedulerName = schedulerName;
+    }
+
+    public void enqueue(String group, Runnable task, long nowNanos) {
+        GroupState state = groups.computeIfAbsent(group, this::newGroup);
+        if (state.tasks.isEmpty() && state.running == 0) {
+            state.pass = Math.max(state.pass, pass);
+        }
+        state.tasks.add(new Queued(task, nowNanos));
+        queued++;
+    }
+
+    /**
+     * Takes the next job to run and counts it as running in its group, or returns {@code null} when nothing is
+     * queued or every group with queued jobs is at its limit.
+     */
+    public Dispatch poll(long nowNanos) {
+        GroupState next = null;
+        for (GroupState state : groups.values()) {
+            if (!state.tasks.isEmpty() && state.running < state.limit && (next == null || state.pass < next.pass)) {
+                next = state;
+            }
+        }
+        if (next == null) {
+            return null;
+        }
+
+        pass = next.pass;
+        next.pass += STRIDE / next.weight;
+        next.running++;
+        running++;
+        queued--;
+
+        Queued task = next.tasks.poll();
+        long waitNanos = nowNanos - task.enqueuedNanos();
+        next.wait.record(waitNanos, TimeUnit.NANOSECONDS);
+        return new Dispatch(next.name, task.task(), waitNanos);
+    }
+
+    public void completed(String group) {
+        groups.get(group).running--;
+        running--;
+    }
+
+    /**
+     * Drops every queued job, for a shutdown that does not wait for jobs.
+     *
+     * @return the number of jobs dropped
+     */
+    public int clear() {
+        int dropped = queued;
+        groups.values().forEach(state -> state.tasks.clear());
+        queued = 0;
+        return dropped;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+
+    /**
+     * Queued jobs whose group is below its limit, so they only wait for a worker; the rest are held back by their
+     * group's limit.
+     */
+    public int getDispatchable() {
+        int dispatchable = 0;
+        for (GroupState state : groups.values()) {
+            dispatchable += Math.min(state.tasks.size(), Math.max(0, state.limit - state.running));
+        }
+        return dispatchable;
+    }
+
+    public int getRunning() {
+        return running;
+    }
+
+    public int getQueued(String group) {
+        GroupState state = groups.get(group);
+        return state == null ? 0 : state.tasks.size();
+    }
+
+    public int getRunning(String group) {
+        GroupState state = groups.get(group);
+        return state == null ? 0 : state.running;
+    }
+
+    private GroupState newGroup(String group) {
+        GroupState state = new GroupState(group, limits.getOrDefault(group, defaultLimit),
+                weights.getOrDefault(group, defaultWeight));
+        Gauge.builder("quartz.group.queue.depth", state, s -> s.tasks.size())
+                .description("Fired jobs of the group waiting for a worker")
+                .tag("scheduler", schedulerName)
+                .tag("group", group)
+                .register(registry);
+        Gauge.builder("quartz.group.running", state, s -> s.running)
+                .description("Jobs of the group currently executing")
+                .tag("scheduler", schedulerName)
+                .tag("group", group)
+                .register(registry);
+        state.wait = Timer.builder("quartz.group.queue.wait")
+                .description("Time a fired job of the group waited for a worker")
+                .tag("scheduler", schedulerName)
+                .tag("group", group)
+                .register(registry);
+        return state;
+    }
+
+    public record Dispatch(String group, Runnable task, long waitNanos) {
+    }
+
+    private record Queued(Runnable task, long enqueuedNanos) {
+    }
+
+    private static class GroupState {
+
+        private final String name;
+
+        private final int limit;
+
+        private final int weight;
+
+        private final ArrayDeque<Queued> tasks = new ArrayDeque<>();
+
+        private Timer wait;
+
+        private volatile int running;
+
+        private long pass;
+
+        GroupState(String name, int limit, int weight) {
+            this.name = name;
+            this.limit = limit;
+            this.weight = weight;
+        }
+    }
+}
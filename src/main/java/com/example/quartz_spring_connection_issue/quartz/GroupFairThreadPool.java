@@ -0,0 +1,266 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import io.micrometer.core.instrument.Metrics;
+import org.quartz.SchedulerConfigException;
+import org.quartz.spi.ThreadPool;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Quartz {@link ThreadPool} with a queue per job group in front of a fixed set of workers, so one group's flood
+ * of triggers cannot take every worker from the others.
+ * <p>
+ * Quartz only acquires and fires as many triggers as {@link #blockForAvailableThreads()} reports: the workers
+ * that are neither running a job nor about to take a queued one. A fired job whose group is at its limit is held
+ * back in the group's queue and does not count against that number, so a saturated group cannot keep an idle
+ * worker from other groups' triggers. When jobs of several groups wait for a worker at once, the next one is
+ * picked by weighted fair share (see {@link GroupFairShareQueue}). Configured through
+ * {@code org.quartz.threadPool.*}:
+ * <ul>
+ *     <li>{@code groupLimits}: {@code group=max} pairs, e.g. {@code testGroup=2}; other groups use
+ *     {@code defaultGroupLimit}, which defaults to {@code threadCount}</li>
+ *     <li>{@code groupWeights}: {@code group=weight} pairs; other groups use {@code defaultGroupWeight} (1)</li>
+ *     <li>{@code maxHeldBack}: jobs that may be held back by their group's limit (default 100); once that many
+ *     are, the pool reports no free worker until one of them is dispatched</li>
+ * </ul>
+ * A held-back job's trigger has already fired: misfire handling no longer applies to it, the time it waits shows
+ * up only in {@code quartz.group.queue.wait}, and on a shutdown that does not wait for jobs it is dropped. Quartz
+ * re-runs a dropped job on the next start only if its JobDetail requests recovery; otherwise that fire is lost.
+ * <p>
+ * The pool learns each job's group from {@link GroupTaggingJobFactory}; jobs created by another factory all share
+ * the {@value #UNTAGGED_GROUP} group.
+ */
+public class GroupFairThreadPool implements ThreadPool {
+
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(GroupFairThreadPool.class);
+
+    public static final String UNTAGGED_GROUP = "untagged";
+
+    // Quartz creates each JobRunShell's job and then hands the shell to the pool, both on the scheduler thread
+    private static final ThreadLocal<String> NEXT_GROUP = new ThreadLocal<>();
+
+    private final List<Thread> workers = new ArrayList<>();
+
+    private int threadCount = 3;
+
+    private int maxHeldBack = 100;
+
+    private String groupLimits = "";
+
+    private String groupWeights = "";
+
+    private int defaultGroupLimit;
+
+    private int defaultGroupWeight = 1;
+
+    private String instanceName = "QuartzScheduler";
+
+    private GroupFairShareQueue queue;
+
+    private boolean shutdown;
+
+    private boolean drainOnShutdown;
+
+    /**
+     * Records the group of the job whose JobRunShell the calling scheduler thread hands to the pool next.
+     */
+    public static void announceGroup(String group) {
+        NEXT_GROUP.set(group);
+    }
+
+    public void setThreadCount(int threadCount) {
+        this.threadCount = threadCount;
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    public void setMaxHeldBack(int maxHeldBack) {
+        this.maxHeldBack = maxHeldBack;
+    }
+
+    public void setGroupLimits(String groupLimits) {
+        this.groupLimits = groupLimits;
+    }
+
+    public void setGroupWeights(String groupWeights) {
+        this.groupWeights = groupWeights;
+    }
+
+    public void setDefaultGroupLimit(int defaultGroupLimit) {
+        this.defaultGroupLimit = defaultGroupLimit;
+    }
+
+    public void setDefaultGroupWeight(int defaultGroupWeight) {
+        this.defaultGroupWeight = defaultGroupWeight;
+    }
+
+    @Override
+    public void initialize() throws SchedulerConfigException {
+        if (threadCount <= 0) {
+            throw new SchedulerConfigException("Thread count must be > 0");
+        }
+        if (maxHeldBack < 0) {
+            throw new SchedulerConfigException("maxHeldBack must be >= 0");
+        }
+        if (defaultGroupWeight <= 0) {
+            throw new SchedulerConfigException("defaultGroupWeight must be > 0");
+        }
+        Map<String, Integer> limits = parseGroupValues("groupLimits", groupLimits);
+        Map<String, Integer> weights = parseGroupValues("groupWeights", groupWeights);
+        int defaultLimit = defaultGroupLimit > 0 ? defaultGroupLimit : threadCount;
+
+        queue = new GroupFairShareQueue(limits, weights, defaultLimit, defaultGroupWeight,
+                Metrics.globalRegistry, instanceName);
+        for (int i = 1; i <= threadCount; i++) {
+            Thread worker = new Thread(this::work, instanceName + "_GroupWorker-" + i);
+            workers.add(worker);
+            worker.start();
+        }
+        log.info("GroupFairThreadPool initialized with {} threads, max held back {}, limits {} (default {}), weights {}",
+                threadCount, maxHeldBack, limits, defaultLimit, weights);
+    }
+
+    @Override
+    public boolean runInThread(Runnable runnable) {
+        if (runnable == null) {
+            return false;
+        }
+        String group = NEXT_GROUP.get();
+        NEXT_GROUP.remove();
+
+        synchronized (queue) {
+            while (freeWorkers() <= 0 && heldBackFull() && !shutdown) {
+                try {
+                    queue.wait(500);
+                } catch (InterruptedException ignore) {
+                }
+            }
+            if (!shutdown) {
+                queue.enqueue(group != null ? group : UNTAGGED_GROUP, runnable, System.nanoTime());
+                queue.notifyAll();
+                return true;
+            }
+        }
+
+        // Same as SimpleThreadPool: work handed over while shutting down still runs, on an extra thread
+        new Thread(runnable, instanceName + "_GroupWorker-shutdown").start();
+        return true;
+    }
+
+    @Override
+    public int blockForAvailableThreads() {
+        synchronized (queue) {
+            while ((freeWorkers() <= 0 || heldBackFull()) && !shutdown) {
+                try {
+                    queue.wait(500);
+                } catch (InterruptedException ignore) {
+                }
+            }
+            return Math.max(0, freeWorkers());
+        }
+    }
+
+    @Override
+    public void shutdown(boolean waitForJobsToComplete) {
+        synchronized (queue) {
+            shutdown = true;
+            drainOnShutdown = waitForJobsToComplete;
+            if (!waitForJobsToComplete) {
+                int dropped = queue.clear();
+                if (dropped > 0) {
+                    log.warn("Dropped {} queued jobs on shutdown; their triggers had fired, so only jobs that request"
+                            + " recovery run again on the next start", dropped);
+                }
+            }
+            queue.notifyAll();
+        }
+
+        if (waitForJobsToComplete) {
+            for (Thread worker : workers) {
+                try {
+                    worker.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        log.debug("GroupFairThreadPool shutdown complete");
+    }
+
+    @Override
+    public int getPoolSize() {
+        return threadCount;
+    }
+
+    @Override
+    public void setInstanceId(String schedInstId) {
+    }
+
+    @Override
+    public void setInstanceName(String schedName) {
+        this.instanceName = schedName;
+    }
+
+    private void work() {
+        while (true) {
+            GroupFairShareQueue.Dispatch dispatch;
+            synchronized (queue) {
+                while ((dispatch = queue.poll(System.nanoTime())) == null) {
+                    if (shutdown && (!drainOnShutdown || queue.getQueued() == 0)) {
+                        return;
+                    }
+                    try {
+                        queue.wait(500);
+                    } catch (InterruptedException ignore) {
+                    }
+                }
+            }
+
+            try {
+                dispatch.task().run();
+            } catch (Throwable t) {
+                log.error("Job in group {} threw from the worker", dispatch.group(), t);
+            } finally {
+                synchronized (queue) {
+                    queue.completed(dispatch.group());
+                    queue.notifyAll();
+                }
+            }
+        }
+    }
+
+    // Callers hold the queue's monitor
+    private int freeWorkers() {
+        return threadCount - queue.getRunning() - queue.getDispatchable();
+    }
+
+    private boolean heldBackFull() {
+        int heldBack = queue.getQueued() - queue.getDispatchable();
+        return heldBack > 0 && heldBack >= maxHeldBack;
+    }
+
+    static Map<String, Integer> parseGroupValues(String property, String value) throws SchedulerConfigException {
+        Map<String, Integer> values = new HashMap<>();
+        if (value == null || value.isBlank()) {
+            return values;
+        }
+        for (String entry : value.split(",")) {
+            String[] pair = entry.split("=");
+            try {
+                if (pair.length != 2 || pair[0].isBlank() || Integer.parseInt(pair[1].trim()) <= 0) {
+                    throw new SchedulerConfigException(property + " entry must be group=positive integer: " + entry);
+                }
+                values.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+            } catch (NumberFormatException e) {
+                throw new SchedulerConfigException(property + " entry must be group=positive integer: " + entry, e);
+            }
+        }
+        return values;
+    }
+}
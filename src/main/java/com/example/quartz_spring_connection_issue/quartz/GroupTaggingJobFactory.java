@@ -0,0 +1,21 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import org.quartz.Job;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.spi.TriggerFiredBundle;
+import org.springframework.scheduling.quartz.SpringBeanJobFactory;
+
+/**
+ * {@link SpringBeanJobFactory} that tells {@link GroupFairThreadPool} which job group it is creating a job for.
+ * Quartz calls the factory on the scheduler thread right before handing the job to the thread pool, and the pool
+ * has no other way to see the group. Harmless with any other thread pool.
+ */
+public class GroupTaggingJobFactory extends SpringBeanJobFactory {
+
+    @Override
+    public Job newJob(TriggerFiredBundle bundle, Scheduler scheduler) throws SchedulerException {
+        GroupFairThreadPool.announceGroup(bundle.getJobDetail().getKey().getGroup());
+        return super.newJob(bundle, scheduler);
+    }
+}
@@ -0,0 +1,587 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import io.micrometer.core.instrument.Metrics;
+import org.quartz.Calendar;
+import org.quartz.JobDetail;
+import org.quartz.JobKey;
+import org.quartz.JobPersistenceException;
+import org.quartz.ObjectAlreadyExistsException;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.TriggerKey;
+import org.quartz.impl.jdbcjobstore.Constants;
+import org.quartz.impl.jdbcjobstore.DriverDelegate;
+import org.quartz.impl.jdbcjobstore.StdJDBCDelegate;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.quartz.simpl.RAMJobStore;
+import org.quartz.spi.ClassLoadHelper;
+import org.quartz.spi.OperableTrigger;
+import org.quartz.spi.SchedulerSignaler;
+import org.quartz.spi.TriggerFiredResult;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Job store that serves trigger acquisition from {@link RAMJobStore}'s in-memory, time-ordered trigger index
+ * and persists state changes to the {@code QRTZ_} tables asynchronously.
+ * <p>
+ * Every change marks the affected job, trigger or calendar dirty. A flusher thread writes the latest in-memory
+ * state of everything dirty every {@code flushIntervalMillis} in one transaction, so a trigger that fires many
+ * times between flushes costs a single row update and the tables always hold the state of one flush. On startup
+ * the index is rebuilt from the tables, including paused and errored triggers; misfire handling then applies to
+ * anything that was due while the node was down. Changes made after the last flush are lost on a crash, which is
+ * the trade-off against per-operation JDBC writes.
+ * <p>
+ * Needs the JDBC job-store setup ({@code spring.quartz.job-store-type: jdbc}) so Spring provides the DataSource
+ * and initializes the schema; enable it with the {@code hybrid-store} profile. Clustering is not supported.
+ */
+public class HybridJobStore extends RAMJobStore {
+
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(HybridJobStore.class);
+
+    private final Object dirtyLock = new Object();
+
+    private Set<JobKey> dirtyJobs = new HashSet<>();
+
+    private Set<TriggerKey> dirtyTriggers = new HashSet<>();
+
+    private Set<String> dirtyCalendars = new HashSet<>();
+
+    private boolean pausedGroupsDirty;
+
+    private boolean clearRequested;
+
+    private volatile boolean loading;
+
+    private String instanceName;
+
+    private String instanceId;
+
+    private String driverDelegateClass = StdJDBCDelegate.class.getName();
+
+    private String tablePrefix = Constants.DEFAULT_TABLE_PREFIX;
+
+    private boolean clustered;
+
+    private long flushIntervalMillis = 1000;
+
+    private long connectionHoldThresholdMillis = 5000;
+
+    private DataSource dataSource;
+
+    private DriverDelegate delegate;
+
+    private JobStoreConnectionMonitor monitor;
+
+    private ScheduledExecutorService flusher;
+
+    public void setDriverDelegateClass(String driverDelegateClass) {
+        this.driverDelegateClass = driverDelegateClass;
+    }
+
+    public void setTablePrefix(String tablePrefix) {
+        this.tablePrefix = tablePrefix;
+    }
+
+    public void setIsClustered(boolean clustered) {
+        this.clustered = clustered;
+    }
+
+    public void setFlushIntervalMillis(long flushIntervalMillis) {
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    public void setConnectionHoldThresholdMillis(long connectionHoldThresholdMillis) {
+        this.connectionHoldThresholdMillis = connectionHoldThresholdMillis;
+    }
+
+    @Override
+    public void setInstanceName(String schedName) {
+        this.instanceName = schedName;
+    }
+
+    @Override
+    public void setInstanceId(String schedInstId) {
+        this.instanceId = schedInstId;
+    }
+
+    // RAMJobStore.initialize declares no checked exceptions, so configuration and load failures are unchecked
+    @Override
+    public void initialize(ClassLoadHelper loadHelper, SchedulerSignaler schedSignaler) {
+        super.initialize(loadHelper, new MisfireTrackingSignaler(schedSignaler));
+
+        if (clustered) {
+            throw new IllegalStateException("HybridJobStore does not support clustering");
+        }
+        DataSource nonTxDataSource = SchedulerFactoryBean.getConfigTimeNonTransactionalDataSource();
+        dataSource = (nonTxDataSource != null ? nonTxDataSource : SchedulerFactoryBean.getConfigTimeDataSource());
+        if (dataSource == null) {
+            throw new IllegalStateException("HybridJobStore needs a DataSource; set spring.quartz.job-store-type=jdbc");
+        }
+
+        try {
+            delegate = (DriverDelegate) loadHelper.loadClass(driverDelegateClass).getDeclaredConstructor().newInstance();
+            delegate.initialize(log, tablePrefix, instanceName, instanceId, loadHelper, false, null);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not create driver delegate " + driverDelegateClass, e);
+        }
+        monitor = new JobStoreConnectionMonitor(Metrics.globalRegistry, instanceName,
+                Duration.ofMillis(connectionHoldThresholdMillis));
+
+        load(loadHelper);
+
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, instanceName + "_HybridJobStoreFlusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public boolean supportsPersistence() {
+        return true;
+    }
+
+    @Override
+    public void shutdown() {
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            flushQuietly();
+        }
+        super.shutdown();
+    }
+
+    public int getPendingWrites() {
+        synchronized (dirtyLock) {
+            return dirtyJobs.size() + dirtyTriggers.size() + dirtyCalendars.size();
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------------------
+    // State changes: let RAMJobStore apply them, then mark what changed. RAMJobStore routes bulk operations
+    // (removeJob, pauseJob, pauseAll, ...) through these single-object methods, so they cover everything.
+    // ---------------------------------------------------------------------------------------------------------
+
+    @Override
+    public void storeJob(JobDetail newJob, boolean replaceExisting) throws ObjectAlreadyExistsException {
+        super.storeJob(newJob, replaceExisting);
+        markJob(newJob.getKey());
+    }
+
+    @Override
+    public void storeTrigger(OperableTrigger newTrigger, boolean replaceExisting) throws JobPersistenceException {
+        super.storeTrigger(newTrigger, replaceExisting);
+        markTrigger(newTrigger.getKey());
+    }
+
+    @Override
+    public boolean removeJob(JobKey jobKey) {
+        boolean removed = super.removeJob(jobKey);
+        markJob(jobKey);
+        return removed;
+    }
+
+    @Override
+    public boolean removeTrigger(TriggerKey triggerKey) {
+        OperableTrigger trigger = retrieveTrigger(triggerKey);
+        boolean removed = super.removeTrigger(triggerKey);
+        markTrigger(triggerKey);
+        if (trigger != null) {
+            // A non-durable job is removed together with its last trigger
+            markJob(trigger.getJobKey());
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean replaceTrigger(TriggerKey triggerKey, OperableTrigger newTrigger) throws JobPersistenceException {
+        boolean replaced = super.replaceTrigger(triggerKey, newTrigger);
+        markTrigger(triggerKey);
+        markTrigger(newTrigger.getKey());
+        return replaced;
+    }
+
+    @Override
+    public void pauseTrigger(TriggerKey triggerKey) {
+        super.pauseTrigger(triggerKey);
+        markTrigger(triggerKey);
+    }
+
+    @Override
+    public List<String> pauseTriggers(GroupMatcher<TriggerKey> matcher) {
+        List<String> groups = super.pauseTriggers(matcher);
+        markPausedGroups();
+        return groups;
+    }
+
+    @Override
+    public void resumeTrigger(TriggerKey triggerKey) {
+        super.resumeTrigger(triggerKey);
+        markTrigger(triggerKey);
+    }
+
+    @Override
+    public List<String> resumeTriggers(GroupMatcher<TriggerKey> matcher) {
+        List<String> groups = super.resumeTriggers(matcher);
+        markPausedGroups();
+        return groups;
+    }
+
+    @Override
+    public void resumeAll() {
+        super.resumeAll();
+        markPausedGroups();
+    }
+
+    @Override
+    public void storeCalendar(String name, Calendar calendar, boolean replaceExisting, boolean updateTriggers)
+            throws ObjectAlreadyExistsException {
+        super.storeCalendar(name, calendar, replaceExisting, updateTriggers);
+        synchronized (dirtyLock) {
+            dirtyCalendars.add(name);
+        }
+        if (updateTriggers) {
+            markAllTriggers();
+        }
+    }
+
+    @Override
+    public boolean removeCalendar(String calName) throws JobPersistenceException {
+        boolean removed = super.removeCalendar(calName);
+        synchronized (dirtyLock) {
+            dirtyCalendars.add(calName);
+        }
+        return removed;
+    }
+
+    @Override
+    public void clearAllSchedulingData() throws JobPersistenceException {
+        super.clearAllSchedulingData();
+        synchronized (dirtyLock) {
+            clearRequested = true;
+        }
+    }
+
+    @Override
+    public List<TriggerFiredResult> triggersFired(List<OperableTrigger> firedTriggers) {
+        List<TriggerFiredResult> results = super.triggersFired(firedTriggers);
+        for (OperableTrigger trigger : firedTriggers) {
+            markTrigger(trigger.getKey());
+        }
+        return results;
+    }
+
+    @Override
+    public void triggeredJobComplete(OperableTrigger trigger, JobDetail jobDetail,
+                                     Trigger.CompletedExecutionInstruction triggerInstCode) {
+        super.triggeredJobComplete(trigger, jobDetail, triggerInstCode);
+        markTrigger(trigger.getKey());
+        markJob(jobDetail.getKey());
+        if (triggerInstCode == Trigger.CompletedExecutionInstruction.SET_ALL_JOB_TRIGGERS_COMPLETE
+                || triggerInstCode == Trigger.CompletedExecutionInstruction.SET_ALL_JOB_TRIGGERS_ERROR) {
+            for (OperableTrigger jobTrigger : getTriggersForJob(jobDetail.getKey())) {
+                markTrigger(jobTrigger.getKey());
+            }
+        }
+    }
+
+    private void markJob(JobKey jobKey) {
+        if (loading) {
+            return;
+        }
+        synchronized (dirtyLock) {
+            dirtyJobs.add(jobKey);
+        }
+    }
+
+    private void markTrigger(TriggerKey triggerKey) {
+        if (loading) {
+            return;
+        }
+        synchronized (dirtyLock) {
+            dirtyTriggers.add(triggerKey);
+        }
+    }
+
+    private void markPausedGroups() {
+        if (loading) {
+            return;
+        }
+        synchronized (dirtyLock) {
+            pausedGroupsDirty = true;
+        }
+        // Pausing or resuming a group changes the state of every trigger in it
+        markAllTriggers();
+    }
+
+    private void markAllTriggers() {
+        for (String group : getTriggerGroupNames()) {
+            for (TriggerKey triggerKey : getTriggerKeys(GroupMatcher.triggerGroupEquals(group))) {
+                markTrigger(triggerKey);
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------------------
+    // Persistence
+    // ---------------------------------------------------------------------------------------------------------
+
+    private void load(ClassLoadHelper loadHelper) {
+        loading = true;
+        try (Connection conn = dataSource.getConnection()) {
+            for (String calendarName : delegate.selectCalendars(conn)) {
+                super.storeCalendar(calendarName, delegate.selectCalendar(conn, calendarName), true, false);
+            }
+
+            int jobs = 0;
+            int triggers = 0;
+            List<OperableTrigger> errored = new ArrayList<>();
+            for (String group : delegate.selectJobGroups(conn)) {
+                for (JobKey jobKey : delegate.selectJobsInGroup(conn, GroupMatcher.jobGroupEquals(group))) {
+                    super.storeJob(delegate.selectJobDetail(conn, jobKey, loadHelper), true);
+                    jobs++;
+
+                    for (OperableTrigger trigger : delegate.selectTriggersForJob(conn, jobKey)) {
+                        String state = delegate.selectTriggerState(conn, trigger.getKey());
+                        if (Constants.STATE_COMPLETE.equals(state)) {
+                            continue;
+                        }
+                        super.storeTrigger(trigger, true);
+                        if (Constants.STATE_PAUSED.equals(state) || Constants.STATE_PAUSED_BLOCKED.equals(state)) {
+                            super.pauseTrigger(trigger.getKey());
+                        } else if (Constants.STATE_ERROR.equals(state)) {
+                            errored.add(trigger);
+                        }
+                        triggers++;
+                    }
+                }
+            }
+
+            for (String group : delegate.selectPausedTriggerGroups(conn)) {
+                super.pauseTriggers(GroupMatcher.triggerGroupEquals(group));
+            }
+            // RAMJobStore only puts a trigger in ERROR when its job completes with SET_TRIGGER_ERROR. Pausing it
+            // first takes it out of the acquisition index, and ERROR is left alone by a later resume of its group.
+            for (OperableTrigger trigger : errored) {
+                super.pauseTrigger(trigger.getKey());
+                super.triggeredJobComplete(trigger, retrieveJob(trigger.getJobKey()),
+                        Trigger.CompletedExecutionInstruction.SET_TRIGGER_ERROR);
+            }
+            log.info("HybridJobStore loaded {} jobs and {} triggers from {}TRIGGERS", jobs, triggers, tablePrefix);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not rebuild the trigger index from the database", e);
+        } finally {
+            loading = false;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("HybridJobStore flush failed; changes stay queued for the next attempt", e);
+        }
+    }
+
+    /**
+     * Writes the current in-memory state of everything marked dirty since the last flush.
+     */
+    synchronized void flush() throws Exception {
+        Set<JobKey> jobs;
+        Set<TriggerKey> triggers;
+        Set<String> calendars;
+        boolean pausedGroups;
+        boolean clear;
+        synchronized (dirtyLock) {
+            if (dirtyJobs.isEmpty() && dirtyTriggers.isEmpty() && dirtyCalendars.isEmpty()
+                    && !pausedGroupsDirty && !clearRequested) {
+                return;
+            }
+            jobs = dirtyJobs;
+            triggers = dirtyTriggers;
+            calendars = dirtyCalendars;
+            pausedGroups = pausedGroupsDirty;
+            clear = clearRequested;
+            dirtyJobs = new HashSet<>();
+            dirtyTriggers = new HashSet<>();
+            dirtyCalendars = new HashSet<>();
+            pausedGroupsDirty = false;
+            clearRequested = false;
+        }
+
+        long start = System.nanoTime();
+        JobStoreConnectionMonitor.Operation operation = monitor.beginOperation("hybridFlush", null);
+        Connection conn = null;
+        try {
+            conn = monitor.acquire("hybridFlush", dataSource, dataSource::getConnection);
+            conn.setAutoCommit(false);
+
+            if (clear) {
+                delegate.clearData(conn);
+            }
+            for (String name : calendars) {
+                Calendar calendar = retrieveCalendar(name);
+                if (calendar != null) {
+                    if (delegate.calendarExists(conn, name)) {
+                        delegate.updateCalendar(conn, name, calendar);
+                    } else {
+                        delegate.insertCalendar(conn, name, calendar);
+                    }
+                }
+            }
+            List<JobKey> removedJobs = new ArrayList<>();
+            for (JobKey jobKey : jobs) {
+                JobDetail job = retrieveJob(jobKey);
+                if (job == null) {
+                    removedJobs.add(jobKey);
+                } else if (delegate.jobExists(conn, jobKey)) {
+                    delegate.updateJobDetail(conn, job);
+                } else {
+                    delegate.insertJobDetail(conn, job);
+                }
+            }
+            for (TriggerKey triggerKey : triggers) {
+                writeTrigger(conn, triggerKey);
+            }
+            for (JobKey jobKey : removedJobs) {
+                for (TriggerKey triggerKey : delegate.selectTriggerKeysForJob(conn, jobKey)) {
+                    delegate.deleteTrigger(conn, triggerKey);
+                }
+                delegate.deleteJobDetail(conn, jobKey);
+            }
+            for (String name : calendars) {
+                if (retrieveCalendar(name) == null) {
+                    delegate.deleteCalendar(conn, name);
+                }
+            }
+            if (pausedGroups) {
+                writePausedGroups(conn);
+            }
+
+            conn.commit();
+            log.debug("HybridJobStore flushed {} jobs, {} triggers, {} calendars in {} ms",
+                    jobs.size(), triggers.size(), calendars.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception e) {
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (Exception rollbackFailure) {
+                    log.warn("Rollback after failed flush failed", rollbackFailure);
+                }
+            }
+            synchronized (dirtyLock) {
+                dirtyJobs.addAll(jobs);
+                dirtyTriggers.addAll(triggers);
+                dirtyCalendars.addAll(calendars);
+                pausedGroupsDirty |= pausedGroups;
+                clearRequested |= clear;
+            }
+            throw e;
+        } finally {
+            if (conn != null) {
+                monitor.release(conn);
+                conn.close();
+            }
+            monitor.endOperation(operation);
+        }
+    }
+
+    private void writeTrigger(Connection conn, TriggerKey triggerKey) throws Exception {
+        OperableTrigger trigger = retrieveTrigger(triggerKey);
+        String state = trigger == null ? null : persistentState(getTriggerState(triggerKey));
+
+        if (trigger == null || state == null) {
+            delegate.deleteTrigger(conn, triggerKey);
+            return;
+        }
+        JobDetail job = retrieveJob(trigger.getJobKey());
+        if (delegate.triggerExists(conn, triggerKey)) {
+            delegate.updateTrigger(conn, trigger, state, job);
+        } else {
+            delegate.insertTrigger(conn, trigger, state, job);
+        }
+    }
+
+    private void writePausedGroups(Connection conn) throws Exception {
+        Set<String> paused = getPausedTriggerGroups();
+        Set<String> persisted = delegate.selectPausedTriggerGroups(conn);
+        for (String group : paused) {
+            if (!persisted.contains(group)) {
+                delegate.insertPausedTriggerGroup(conn, group);
+            }
+        }
+        for (String group : persisted) {
+            if (!paused.contains(group)) {
+                delegate.deletePausedTriggerGroup(conn, group);
+            }
+        }
+    }
+
+    // BLOCKED only describes a job that is running on this node right now, so it is persisted as WAITING
+    private static String persistentState(Trigger.TriggerState state) {
+        return switch (state) {
+            case NORMAL, BLOCKED -> Constants.STATE_WAITING;
+            case PAUSED -> Constants.STATE_PAUSED;
+            case COMPLETE -> Constants.STATE_COMPLETE;
+            case ERROR -> Constants.STATE_ERROR;
+            case NONE -> null;
+        };
+    }
+
+    /**
+     * RAMJobStore applies misfire instructions while acquiring triggers, without going through any method this
+     * store overrides; the misfire notification is the one place that sees every such change.
+     */
+    private final class MisfireTrackingSignaler implements SchedulerSignaler {
+
+        private final SchedulerSignaler target;
+
+        private MisfireTrackingSignaler(SchedulerSignaler target) {
+            this.target = target;
+        }
+
+        @Override
+        public void notifyTriggerListenersMisfired(Trigger trigger) {
+            markTrigger(trigger.getKey());
+            target.notifyTriggerListenersMisfired(trigger);
+        }
+
+        @Override
+        public void notifySchedulerListenersFinalized(Trigger trigger) {
+            markTrigger(trigger.getKey());
+            target.notifySchedulerListenersFinalized(trigger);
+        }
+
+        @Override
+        public void notifySchedulerListenersJobDeleted(JobKey jobKey) {
+            target.notifySchedulerListenersJobDeleted(jobKey);
+        }
+
+        @Override
+        public void signalSchedulingChange(long candidateNewNextFireTime) {
+            target.signalSchedulingChange(candidateNewNextFireTime);
+        }
+
+        @Override
+        public void notifySchedulerListenersError(String message, SchedulerException jpe) {
+            target.notifySchedulerListenersError(message, jpe);
+        }
+    }
+}
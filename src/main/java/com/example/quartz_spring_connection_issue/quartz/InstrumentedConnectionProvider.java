@@ -0,0 +1,49 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import org.quartz.utils.ConnectionProvider;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * {@link ConnectionProvider} registered under {@code springTxDataSource.<name>} or
+ * {@code springNonTxDataSource.<name>} that obtains connections the same way Spring's providers do,
+ * reporting every checkout to a {@link JobStoreConnectionMonitor}.
+ */
+public class InstrumentedConnectionProvider implements ConnectionProvider {
+
+    private final String name;
+
+    private final DataSource dataSource;
+
+    private final JobStoreConnectionMonitor.ConnectionSupplier supplier;
+
+    private final JobStoreConnectionMonitor monitor;
+
+    public InstrumentedConnectionProvider(String name, DataSource dataSource,
+                                          JobStoreConnectionMonitor.ConnectionSupplier supplier,
+                                          JobStoreConnectionMonitor monitor) {
+        this.name = name;
+        this.dataSource = dataSource;
+        this.supplier = supplier;
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return monitor.acquire(name, dataSource, supplier);
+    }
+
+    @Override
+    public void shutdown() {
+    }
+
+    @Override
+    public void initialize() {
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import io.micrometer.core.instrument.Metrics;
+import org.quartz.JobPersistenceException;
+import org.quartz.SchedulerConfigException;
+import org.quartz.SimpleTrigger;
+import org.quartz.TriggerKey;
+import org.quartz.spi.ClassLoadHelper;
+import org.quartz.impl.jdbcjobstore.Constants;
+import org.quartz.spi.OperableTrigger;
+import org.quartz.spi.SchedulerSignaler;
+import org.quartz.utils.DBConnectionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.scheduling.quartz.LocalDataSourceJobStore;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LocalDataSourceJobStore} that replaces Spring's {@code springTxDataSource.<name>} and
+ * {@code springNonTxDataSource.<name>} providers with {@link InstrumentedConnectionProvider}s and
+ * reports connection usage per job-store operation.
+ * <p>
+ * Quartz instantiates the job store itself, so metrics go to Micrometer's global registry, which Spring Boot
+ * adds its own registries to. Configure the hold threshold with
+ * {@code org.quartz.jobStore.connectionHoldThresholdMillis}.
+ * <p>
+ * With {@code org.quartz.jobStore.adaptiveAcquisition=true}, each acquisition's batch size and fire-ahead window
+ * are chosen by an {@link AdaptiveAcquisitionController}; {@code batchTriggerAcquisitionMaxCount} is then only the
+ * ceiling.
+ * <p>
+ * With {@code org.quartz.jobStore.misfireReplayPerSecond} set, misfires recovered at startup or by the misfire
+ * handler are replayed at that rate, highest priority first, instead of all firing at once; see
+ * {@link MisfireReplayPacer}.
+ */
+public class InstrumentedLocalDataSourceJobStore extends LocalDataSourceJobStore {
+
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(InstrumentedLocalDataSourceJobStore.class);
+
+    private long connectionHoldThresholdMillis = 5000;
+
+    private boolean adaptiveAcquisition;
+
+    private long maxFireAheadMillis = 1000;
+
+    private long backlogProbeIntervalMillis = 500;
+
+    private int misfireReplayPerSecond;
+
+    private JobStoreConnectionMonitor monitor;
+
+    private AdaptiveAcquisitionController acquisitionController;
+
+    private MisfireReplayPacer misfireReplayPacer;
+
+    private ScheduledExecutorService watchdog;
+
+    public void setConnectionHoldThresholdMillis(long connectionHoldThresholdMillis) {
+        this.connectionHoldThresholdMillis = connectionHoldThresholdMillis;
+    }
+
+    public void setAdaptiveAcquisition(boolean adaptiveAcquisition) {
+        this.adaptiveAcquisition = adaptiveAcquisition;
+    }
+
+    public void setMaxFireAheadMillis(long maxFireAheadMillis) {
+        this.maxFireAheadMillis = maxFireAheadMillis;
+    }
+
+    public void setBacklogProbeIntervalMillis(long backlogProbeIntervalMillis) {
+        this.backlogProbeIntervalMillis = backlogProbeIntervalMillis;
+    }
+
+    public void setMisfireReplayPerSecond(int misfireReplayPerSecond) {
+        this.misfireReplayPerSecond = misfireReplayPerSecond;
+    }
+
+    public JobStoreConnectionMonitor getConnectionMonitor() {
+        return monitor;
+    }
+
+    @Override
+    public void initialize(ClassLoadHelper loadHelper, SchedulerSignaler signaler) throws SchedulerConfigException {
+        super.initialize(loadHelper, signaler);
+
+        DataSource dataSource = SchedulerFactoryBean.getConfigTimeDataSource();
+        DataSource nonTxDataSource = SchedulerFactoryBean.getConfigTimeNonTransactionalDataSource();
+        DataSource nonTxDataSourceToUse = (nonTxDataSource != null ? nonTxDataSource : dataSource);
+
+        monitor = new JobStoreConnectionMonitor(Metrics.globalRegistry, getInstanceName(),
+                Duration.ofMillis(connectionHoldThresholdMillis));
+
+        DBConnectionManager.getInstance().addConnectionProvider(TX_DATA_SOURCE_PREFIX + getInstanceName(),
+                new InstrumentedConnectionProvider("springTxDataSource", dataSource,
+                        () -> DataSourceUtils.doGetConnection(dataSource), monitor));
+        DBConnectionManager.getInstance().addConnectionProvider(NON_TX_DATA_SOURCE_PREFIX + getInstanceName(),
+                new InstrumentedConnectionProvider("springNonTxDataSource", nonTxDataSourceToUse,
+                        nonTxDataSourceToUse::getConnection, monitor));
+
+        long checkInterval = Math.max(connectionHoldThresholdMillis / 2, 100);
+        watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, getInstanceName() + "_ConnectionWatchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watchdog.scheduleWithFixedDelay(monitor::checkHeldConnections, checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+
+        if (adaptiveAcquisition) {
+            acquisitionController = new AdaptiveAcquisitionController(this::countDueTriggers,
+                    maxFireAheadMillis, backlogProbeIntervalMillis, Metrics.globalRegistry, getInstanceName());
+        }
+        if (misfireReplayPerSecond > 0) {
+            misfireReplayPacer = new MisfireReplayPacer(misfireReplayPerSecond, Metrics.globalRegistry, getInstanceName());
+        }
+
+        log.info("Instrumented Quartz connection providers registered for scheduler {}", getInstanceName());
+    }
+
+    @Override
+    public List<OperableTrigger> acquireNextTriggers(long noLaterThan, int maxCount, long timeWindow)
+            throws JobPersistenceException {
+        if (acquisitionController == null) {
+            return super.acquireNextTriggers(noLaterThan, maxCount, timeWindow);
+        }
+        AdaptiveAcquisitionController.Decision decision =
+                acquisitionController.decide(maxCount, timeWindow, System.currentTimeMillis());
+        List<OperableTrigger> acquired = super.acquireNextTriggers(noLaterThan, decision.maxCount(), decision.timeWindow());
+        acquisitionController.acquired(acquired.size());
+        return acquired;
+    }
+
+    /**
+     * Lets Quartz apply each misfired trigger's misfire instruction, then, still inside the same transaction and
+     * trigger lock, moves every trigger that instruction made due right away to the next replay slot, in
+     * descending priority order. The returned earliest new fire time accounts for the replay slots.
+     */
+    @Override
+    protected RecoverMisfiredJobsResult recoverMisfiredJobs(Connection conn, boolean recovering)
+            throws JobPersistenceException, SQLException {
+        if (misfireReplayPacer == null) {
+            return super.recoverMisfiredJobs(conn, recovering);
+        }
+
+        // Same selection Quartz makes: oldest first, then by priority
+        List<TriggerKey> misfired = new LinkedList<>();
+        getDelegate().hasMisfiredTriggersInState(conn, STATE_WAITING, getMisfireTime(),
+                recovering ? -1 : getMaxMisfiresToHandleAtATime(), misfired);
+
+        RecoverMisfiredJobsResult result = super.recoverMisfiredJobs(conn, recovering);
+        if (misfired.isEmpty()) {
+            return result;
+        }
+        misfireReplayPacer.recovered(misfired.size());
+
+        List<OperableTrigger> recovered = new ArrayList<>(misfired.size());
+        for (TriggerKey key : misfired) {
+            OperableTrigger trigger = retrieveTrigger(conn, key);
+            if (trigger != null && trigger.getNextFireTime() != null
+                    && STATE_WAITING.equals(getDelegate().selectTriggerState(conn, key))) {
+                recovered.add(trigger);
+            }
+        }
+        // Stable sort, so equal priorities keep their original fire-time order
+        recovered.sort(Comparator.comparingInt(OperableTrigger::getPriority).reversed());
+
+        long now = System.currentTimeMillis();
+        long earliestNewTime = Long.MAX_VALUE;
+        for (OperableTrigger trigger : recovered) {
+            Date due = trigger.getNextFireTime();
+            // Otherwise the misfire instruction already moved it to a later regular fire time
+            if (due.getTime() <= now) {
+                Date slot = new Date(misfireReplayPacer.nextSlot(now));
+                // RESCHEDULE_NOW_* instructions restart a SimpleTrigger at the misfire time; unless its start moves
+                // to the slot too, the trigger counts the wait for the slot as repeats it has already run
+                if (trigger instanceof SimpleTrigger && due.equals(trigger.getStartTime())
+                        && (trigger.getEndTime() == null || trigger.getEndTime().after(slot))) {
+                    trigger.setStartTime(slot);
+                }
+                trigger.setNextFireTime(slot);
+                storeTrigger(conn, trigger, null, true, STATE_WAITING, false, recovering);
+            }
+            earliestNewTime = Math.min(earliestNewTime, trigger.getNextFireTime().getTime());
+        }
+        log.info("Recovered {} misfired triggers, replaying at {}/s ({} pending)",
+                misfired.size(), misfireReplayPerSecond, misfireReplayPacer.pending(now));
+        return new RecoverMisfiredJobsResult(result.hasMoreMisfiredTriggers(),
+                result.getProcessedMisfiredTriggerCount(), earliestNewTime);
+    }
+
+    private long countDueTriggers(long noLaterThan) throws Exception {
+        Connection conn = getNonManagedTXConnection();
+        try (PreparedStatement ps = conn.prepareStatement("SELECT COUNT(*) FROM " + getTablePrefix()
+                + "TRIGGERS WHERE SCHED_NAME = ? AND TRIGGER_STATE = ? AND NEXT_FIRE_TIME <= ?")) {
+            ps.setString(1, getInstanceName());
+            ps.setString(2, Constants.STATE_WAITING);
+            ps.setLong(3, noLaterThan);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        } finally {
+            commitConnection(conn);
+            cleanupConnection(conn);
+        }
+    }
+
+    @Override
+    protected Object executeInLock(String lockName, TransactionCallback txCallback) throws JobPersistenceException {
+        JobStoreConnectionMonitor.Operation operation = monitor.beginOperation("managed", lockName);
+        try {
+            return super.executeInLock(lockName, txCallback);
+        } finally {
+            monitor.endOperation(operation);
+        }
+    }
+
+    @Override
+    protected Object executeInNonManagedTXLock(String lockName, TransactionCallback txCallback,
+                                               TransactionValidator txValidator) throws JobPersistenceException {
+        JobStoreConnectionMonitor.Operation operation = monitor.beginOperation("nonManaged", lockName);
+        try {
+            return super.executeInNonManagedTXLock(lockName, txCallback, txValidator);
+        } finally {
+            monitor.endOperation(operation);
+        }
+    }
+
+    @Override
+    protected void closeConnection(Connection con) {
+        if (con != null) {
+            monitor.release(con);
+        }
+        super.closeConnection(con);
+    }
+
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        if (watchdog != null) {
+            watchdog.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Encodes the {@code JOB_DATA} BLOBs of jobs and triggers. Implementations mark their payloads so they can be
+ * told apart from the Java-serialized BLOBs Quartz writes by default; see {@link CompactJobDataDelegate}.
+ */
+public interface JobDataCodec {
+
+    byte[] encode(Map<String, ?> data) throws IOException;
+
+    /**
+     * @return true if {@code bytes} were written by this codec rather than by Java serialization
+     */
+    boolean canDecode(byte[] bytes);
+
+    Map<String, Object> decode(byte[] bytes) throws IOException, ClassNotFoundException;
+}
@@ -0,0 +1,18 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a job whose whole {@code execute} should run in one transaction, and so on one pooled connection,
+ * when {@link TransactionalJobFactory} is installed. {@code @Transactional} services the job calls join it.
+ * Leave it off jobs that manage their own short transactions, such as bulk maintenance jobs.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface JobScopedTransaction {
+}
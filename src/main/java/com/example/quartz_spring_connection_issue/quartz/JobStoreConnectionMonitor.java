@@ -0,0 +1,206 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the connections a Quartz job store checks out of its {@code springTxDataSource} and
+ * {@code springNonTxDataSource} providers: acquire latency, hold time, connections per job-store operation,
+ * connections held past a threshold, and providers whose DataSource has already been closed.
+ */
+public class JobStoreConnectionMonitor {
+
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(JobStoreConnectionMonitor.class);
+
+    private final MeterRegistry registry;
+
+    private final String schedulerName;
+
+    private final long holdThresholdNanos;
+
+    private final Map<Connection, Checkout> checkedOut = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<Operation> currentOperation = new ThreadLocal<>();
+
+    private final Map<String, Boolean> closedProviders = new ConcurrentHashMap<>();
+
+    private final Counter heldTooLong;
+
+    public JobStoreConnectionMonitor(MeterRegistry registry, String schedulerName, Duration holdThreshold) {
+        this.registry = registry;
+        this.schedulerName = schedulerName;
+        this.holdThresholdNanos = holdThreshold.toNanos();
+        this.heldTooLong = Counter.builder("quartz.connection.held.too.long")
+                .description("Job-store connections held longer than the configured threshold")
+                .tag("scheduler", schedulerName)
+                .register(registry);
+        Gauge.builder("quartz.connection.checked.out", checkedOut, Map::size)
+                .description("Job-store connections currently checked out")
+                .tag("scheduler", schedulerName)
+                .register(registry);
+    }
+
+    public Connection acquire(String provider, DataSource dataSource, ConnectionSupplier supplier) throws SQLException {
+        if (isClosed(dataSource)) {
+            if (closedProviders.put(provider, Boolean.TRUE) == null) {
+                Gauge.builder("quartz.connection.provider.closed", closedProviders, p -> p.containsKey(provider) ? 1 : 0)
+                        .description("1 if the provider's DataSource has been closed")
+                        .tags("scheduler", schedulerName, "provider", provider)
+                        .register(registry);
+            }
+            log.error("Quartz ConnectionProvider {} for scheduler {} points at a closed DataSource: {}",
+                    provider, schedulerName, dataSource);
+        }
+
+        long start = System.nanoTime();
+        Connection connection = supplier.get();
+        long now = System.nanoTime();
+
+        Timer.builder("quartz.connection.acquire")
+                .description("Time to obtain a job-store connection")
+                .tags("scheduler", schedulerName, "provider", provider)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(now - start, TimeUnit.NANOSECONDS);
+
+        checkedOut.compute(connection, (c, checkout) -> {
+            if (checkout == null) {
+                return new Checkout(provider, now, Thread.currentThread().getName());
+            }
+            checkout.references++;
+            return checkout;
+        });
+
+        Operation operation = currentOperation.get();
+        if (operation != null) {
+            operation.connections++;
+        }
+        return connection;
+    }
+
+    public void release(Connection connection) {
+        long now = System.nanoTime();
+        checkedOut.computeIfPresent(connection, (c, checkout) -> {
+            if (--checkout.references > 0) {
+                return checkout;
+            }
+            long held = now - checkout.acquiredNanos;
+            Timer.builder("quartz.connection.hold")
+                    .description("Time a job-store connection stays checked out")
+                    .tags("scheduler", schedulerName, "provider", checkout.provider)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(held, TimeUnit.NANOSECONDS);
+            if (held > holdThresholdNanos && !checkout.flagged) {
+                heldTooLong.increment();
+                log.warn("Quartz connection from {} was held by thread {} for {} ms (threshold {} ms)",
+                        checkout.provider, checkout.threadName,
+                        TimeUnit.NANOSECONDS.toMillis(held), TimeUnit.NANOSECONDS.toMillis(holdThresholdNanos));
+            }
+            return null;
+        });
+    }
+
+    public Operation beginOperation(String transaction, String lockName) {
+        Operation outer = currentOperation.get();
+        Operation operation = new Operation(transaction, lockName == null ? "none" : lockName, outer);
+        currentOperation.set(operation);
+        return operation;
+    }
+
+    public void endOperation(Operation operation) {
+        if (operation.outer == null) {
+            currentOperation.remove();
+        } else {
+            currentOperation.set(operation.outer);
+            operation.outer.connections += operation.connections;
+        }
+        DistributionSummary.builder("quartz.jobstore.operation.connections")
+                .description("Connections checked out per job-store operation")
+                .tags("scheduler", schedulerName, "transaction", operation.transaction, "lock", operation.lockName)
+                .register(registry)
+                .record(operation.connections);
+    }
+
+    /**
+     * Warns about connections that are still checked out past the threshold. Called periodically by the job store.
+     */
+    public void checkHeldConnections() {
+        long now = System.nanoTime();
+        checkedOut.forEach((connection, checkout) -> {
+            if (!checkout.flagged && now - checkout.acquiredNanos > holdThresholdNanos) {
+                checkout.flagged = true;
+                heldTooLong.increment();
+                log.warn("Quartz connection from {} held by thread {} for {} ms (threshold {} ms)",
+                        checkout.provider, checkout.threadName,
+                        TimeUnit.NANOSECONDS.toMillis(now - checkout.acquiredNanos),
+                        TimeUnit.NANOSECONDS.toMillis(holdThresholdNanos));
+            }
+        });
+    }
+
+    public boolean isProviderClosed(String provider) {
+        return closedProviders.containsKey(provider);
+    }
+
+    private boolean isClosed(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) && dataSource.unwrap(HikariDataSource.class).isClosed();
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    @FunctionalInterface
+    public interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+
+    public static final class Operation {
+
+        private final String transaction;
+
+        private final String lockName;
+
+        private final Operation outer;
+
+        private int connections;
+
+        private Operation(String transaction, String lockName, Operation outer) {
+            this.transaction = transaction;
+            this.lockName = lockName;
+            this.outer = outer;
+        }
+    }
+
+    private static final class Checkout {
+
+        private final String provider;
+
+        private final long acquiredNanos;
+
+        private final String threadName;
+
+        private int references = 1;
+
+        private volatile boolean flagged;
+
+        private Checkout(String provider, long acquiredNanos, String threadName) {
+            this.provider = provider;
+            this.acquiredNanos = acquiredNanos;
+            this.threadName = threadName;
+        }
+    }
+}
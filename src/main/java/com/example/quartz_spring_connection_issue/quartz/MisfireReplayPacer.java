@@ -0,0 +1,66 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Hands out fire times for recovered misfires at no more than {@code replayPerSecond}, so a backlog built up
+ * during downtime is replayed as a steady stream instead of all becoming due at once.
+ * <p>
+ * Slots are handed out in call order and the schedule carries over between misfire-handler runs, so the
+ * overall rate holds even when Quartz recovers misfires in several small batches.
+ */
+public class MisfireReplayPacer {
+
+    private final double slotMillis;
+
+    private final Counter recovered;
+
+    private final Counter paced;
+
+    private double nextSlotMillis;
+
+    public MisfireReplayPacer(int replayPerSecond, MeterRegistry registry, String schedulerName) {
+        this.slotMillis = 1000.0 / replayPerSecond;
+        this.recovered = Counter.builder("quartz.misfire.recovered")
+                .description("Misfired triggers recovered by the job store")
+                .tag("scheduler", schedulerName)
+                .register(registry);
+        this.paced = Counter.builder("quartz.misfire.paced")
+                .description("Recovered misfires whose replay was deferred to a rate-limited slot")
+                .tag("scheduler", schedulerName)
+                .register(registry);
+        Gauge.builder("quartz.misfire.replay.pending", this, p -> p.pending(System.currentTimeMillis()))
+                .description("Recovered misfires scheduled for replay but not yet due")
+                .tag("scheduler", schedulerName)
+                .register(registry);
+        Gauge.builder("quartz.misfire.replay.delay", this, p -> p.delayMillis(System.currentTimeMillis()))
+                .description("Milliseconds until the last scheduled replay slot")
+                .tag("scheduler", schedulerName)
+                .register(registry);
+    }
+
+    public void recovered(int count) {
+        recovered.increment(count);
+    }
+
+    /**
+     * @return the next free replay slot at or after {@code nowMillis}
+     */
+    public synchronized long nextSlot(long nowMillis) {
+        nextSlotMillis = Math.max(nextSlotMillis, nowMillis);
+        long slot = (long) nextSlotMillis;
+        nextSlotMillis += slotMillis;
+        paced.increment();
+        return slot;
+    }
+
+    public synchronized long pending(long nowMillis) {
+        return (long) Math.ceil(Math.max(0, nextSlotMillis - nowMillis) / slotMillis);
+    }
+
+    public synchronized long delayMillis(long nowMillis) {
+        return (long) Math.max(0, nextSlotMillis - nowMillis);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import org.quartz.JobKey;
+import org.quartz.TriggerKey;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link CompactJobDataDelegate} (the delegate this application uses for H2) whose trigger acquisition only
+ * returns triggers in the partitions of the current {@link PartitionedJobStore} operation.
+ * For another database, extend its delegate the same way.
+ */
+public class PartitionedJDBCDelegate extends CompactJobDataDelegate {
+
+    private static final String SELECT_NEXT_TRIGGERS_WITH_JOB = "SELECT "
+            + COL_TRIGGER_NAME + ", " + COL_TRIGGER_GROUP + ", " + COL_JOB_NAME + ", " + COL_JOB_GROUP
+            + " FROM " + TABLE_PREFIX_SUBST + TABLE_TRIGGERS
+            + " WHERE " + COL_SCHEDULER_NAME + " = " + SCHED_NAME_SUBST
+            + " AND " + COL_TRIGGER_STATE + " = ? AND " + COL_NEXT_FIRE_TIME + " <= ? "
+            + "AND (" + COL_MISFIRE_INSTRUCTION + " = -1 OR (" + COL_MISFIRE_INSTRUCTION + " != -1 AND "
+            + COL_NEXT_FIRE_TIME + " >= ?)) "
+            + "ORDER BY " + COL_NEXT_FIRE_TIME + " ASC, " + COL_PRIORITY + " DESC";
+
+    private volatile int partitionCount = 1;
+
+    void setPartitionCount(int partitionCount) {
+        this.partitionCount = partitionCount;
+    }
+
+    @Override
+    public List<TriggerKey> selectTriggerToAcquire(Connection conn, long noLaterThan, long noEarlierThan, int maxCount)
+            throws SQLException {
+        int[] partitions = TriggerPartitions.current();
+        if (partitions == null || partitions.length == partitionCount) {
+            return super.selectTriggerToAcquire(conn, noLaterThan, noEarlierThan, maxCount);
+        }
+
+        // Partitions are hashed from the job key in Java, so rows of other partitions are skipped here. Keep reading
+        // until maxCount of ours are found: capping the rows would hide our triggers behind other nodes' ones.
+        int fetchSize = maxCount * Math.max(1, (partitionCount + partitions.length - 1) / partitions.length) * 2;
+        List<TriggerKey> nextTriggers = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(rtp(SELECT_NEXT_TRIGGERS_WITH_JOB))) {
+            ps.setFetchSize(fetchSize);
+            ps.setString(1, STATE_WAITING);
+            ps.setBigDecimal(2, new java.math.BigDecimal(String.valueOf(noLaterThan)));
+            ps.setBigDecimal(3, new java.math.BigDecimal(String.valueOf(noEarlierThan)));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (nextTriggers.size() < maxCount && rs.next()) {
+                    JobKey jobKey = JobKey.jobKey(rs.getString(COL_JOB_NAME), rs.getString(COL_JOB_GROUP));
+                    if (TriggerPartitions.contains(partitions, TriggerPartitions.partitionOf(jobKey, partitionCount))) {
+                        nextTriggers.add(TriggerKey.triggerKey(rs.getString(COL_TRIGGER_NAME), rs.getString(COL_TRIGGER_GROUP)));
+                    }
+                }
+            }
+        }
+        return nextTriggers;
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import org.quartz.JobDetail;
+import org.quartz.JobKey;
+import org.quartz.JobPersistenceException;
+import org.quartz.SchedulerConfigException;
+import org.quartz.Trigger;
+import org.quartz.impl.jdbcjobstore.SchedulerStateRecord;
+import org.quartz.spi.ClassLoadHelper;
+import org.quartz.spi.OperableTrigger;
+import org.quartz.spi.SchedulerSignaler;
+import org.quartz.spi.TriggerFiredResult;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Clustered job store that partitions triggers across nodes instead of serializing every node on the single
+ * {@code TRIGGER_ACCESS} row.
+ * <p>
+ * Each job hashes into one of {@code partitionCount} partitions with its own lock row (see
+ * {@link PartitionedRowLockSemaphore}). Trigger acquisition, firing, completion and release lock only the
+ * partitions involved, and a node acquires triggers only from the partitions it owns. Ownership is recomputed
+ * on every cluster check-in from the live rows in {@code QRTZ_SCHEDULER_STATE}, so partitions are rebalanced
+ * when a node joins or its check-in expires. While ownership moves, two nodes may briefly share a partition;
+ * the partition lock keeps that safe. Administrative operations and recovery still lock every partition.
+ * <p>
+ * Requires {@code isClustered: true} and {@link PartitionedJDBCDelegate} as the driver delegate.
+ */
+public class PartitionedJobStore extends InstrumentedLocalDataSourceJobStore {
+
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(PartitionedJobStore.class);
+
+    // Same grace period Quartz's own cluster manager allows before declaring an instance failed
+    private static final long CHECKIN_GRACE_MILLIS = 7500L;
+
+    private int partitionCount = 16;
+
+    private volatile int[] ownedPartitions;
+
+    public void setPartitionCount(int partitionCount) {
+        this.partitionCount = partitionCount;
+    }
+
+    public int[] getOwnedPartitions() {
+        return ownedPartitions.clone();
+    }
+
+    @Override
+    public void initialize(ClassLoadHelper loadHelper, SchedulerSignaler signaler) throws SchedulerConfigException {
+        if (!isClustered()) {
+            throw new SchedulerConfigException("PartitionedJobStore requires org.quartz.jobStore.isClustered=true");
+        }
+        if (partitionCount <= 0) {
+            throw new SchedulerConfigException("partitionCount must be > 0");
+        }
+        setLockHandler(new PartitionedRowLockSemaphore(getTablePrefix(), getInstanceName(), partitionCount));
+        // Acquisition must hold the partition locks, even for single-trigger batches
+        setAcquireTriggersWithinLock(true);
+
+        super.initialize(loadHelper, signaler);
+
+        try {
+            if (!(getDelegate() instanceof PartitionedJDBCDelegate delegate)) {
+                throw new SchedulerConfigException("PartitionedJobStore requires org.quartz.jobStore.driverDelegateClass="
+                        + PartitionedJDBCDelegate.class.getName());
+            }
+            delegate.setPartitionCount(partitionCount);
+        } catch (JobPersistenceException e) {
+            throw new SchedulerConfigException("Could not create driver delegate", e);
+        }
+
+        // Until the first check-in shows who else is running, compete for everything
+        ownedPartitions = allPartitions();
+    }
+
+    @Override
+    public List<OperableTrigger> acquireNextTriggers(long noLaterThan, int maxCount, long timeWindow)
+            throws JobPersistenceException {
+        int[] owned = ownedPartitions;
+        if (owned.length == 0) {
+            return Collections.emptyList();
+        }
+        int[] previous = TriggerPartitions.enter(owned);
+        try {
+            return super.acquireNextTriggers(noLaterThan, maxCount, timeWindow);
+        } finally {
+            TriggerPartitions.exit(previous);
+        }
+    }
+
+    @Override
+    public List<TriggerFiredResult> triggersFired(List<OperableTrigger> triggers) throws JobPersistenceException {
+        TreeSet<Integer> partitions = new TreeSet<>();
+        for (OperableTrigger trigger : triggers) {
+            partitions.add(partitionOf(trigger.getJobKey()));
+        }
+        int[] previous = TriggerPartitions.enter(partitions.stream().mapToInt(Integer::intValue).toArray());
+        try {
+            return super.triggersFired(triggers);
+        } finally {
+            TriggerPartitions.exit(previous);
+        }
+    }
+
+    @Override
+    public void triggeredJobComplete(OperableTrigger trigger, JobDetail jobDetail,
+                                     Trigger.CompletedExecutionInstruction triggerInstCode) {
+        int[] previous = TriggerPartitions.enter(new int[]{partitionOf(jobDetail.getKey())});
+        try {
+            super.triggeredJobComplete(trigger, jobDetail, triggerInstCode);
+        } finally {
+            TriggerPartitions.exit(previous);
+        }
+    }
+
+    @Override
+    public void releaseAcquiredTrigger(OperableTrigger trigger) {
+        int[] previous = TriggerPartitions.enter(new int[]{partitionOf(trigger.getJobKey())});
+        try {
+            super.releaseAcquiredTrigger(trigger);
+        } finally {
+            TriggerPartitions.exit(previous);
+        }
+    }
+
+    @Override
+    protected boolean doCheckin() throws JobPersistenceException {
+        boolean recovered = super.doCheckin();
+        try {
+            rebalance();
+        } catch (Exception e) {
+            log.warn("Could not refresh partition ownership, keeping {}", Arrays.toString(ownedPartitions), e);
+        }
+        return recovered;
+    }
+
+    private void rebalance() throws Exception {
+        List<SchedulerStateRecord> records;
+        Connection conn = getNonManagedTXConnection();
+        try {
+            records = getDelegate().selectSchedulerStateRecords(conn, null);
+            commitConnection(conn);
+        } finally {
+            cleanupConnection(conn);
+        }
+
+        long now = System.currentTimeMillis();
+        List<String> live = new ArrayList<>();
+        for (SchedulerStateRecord record : records) {
+            if (record.getCheckinTimestamp() + record.getCheckinInterval() + CHECKIN_GRACE_MILLIS >= now) {
+                live.add(record.getSchedulerInstanceId());
+            }
+        }
+        live.sort(null);
+
+        int index = live.indexOf(getInstanceId());
+        int[] owned = index < 0 ? allPartitions() : assignedPartitions(index, live.size());
+        if (!Arrays.equals(owned, ownedPartitions)) {
+            log.info("Instance {} now owns trigger partitions {} ({} live instances)",
+                    getInstanceId(), Arrays.toString(owned), live.size());
+            ownedPartitions = owned;
+        }
+    }
+
+    private int[] assignedPartitions(int index, int liveInstances) {
+        List<Integer> owned = new ArrayList<>();
+        for (int partition = 0; partition < partitionCount; partition++) {
+            if (partition % liveInstances == index) {
+                owned.add(partition);
+            }
+        }
+        // With more instances than partitions the surplus ones own nothing and stay idle
+        return owned.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private int[] allPartitions() {
+        int[] all = new int[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            all[i] = i;
+        }
+        return all;
+    }
+
+    private int partitionOf(JobKey jobKey) {
+        return TriggerPartitions.partitionOf(jobKey, partitionCount);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import org.quartz.impl.jdbcjobstore.LockException;
+import org.quartz.impl.jdbcjobstore.StdRowLockSemaphore;
+
+import java.sql.Connection;
+
+/**
+ * Row-lock semaphore that splits Quartz's single {@code TRIGGER_ACCESS} row in {@code QRTZ_LOCKS} into one row
+ * per partition ({@code TRIGGER_ACCESS_P0} ... ). An operation scoped to some partitions locks only their rows;
+ * an unscoped one locks all of them, always in ascending order so two operations cannot deadlock.
+ * Lock rows are created on first use. Other locks ({@code STATE_ACCESS}) are untouched.
+ */
+public class PartitionedRowLockSemaphore extends StdRowLockSemaphore {
+
+    static final String TRIGGER_ACCESS = "TRIGGER_ACCESS";
+
+    private final int partitionCount;
+
+    public PartitionedRowLockSemaphore(String tablePrefix, String schedName, int partitionCount) {
+        super(tablePrefix, schedName, null);
+        this.partitionCount = partitionCount;
+    }
+
+    @Override
+    public boolean obtainLock(Connection conn, String lockName) throws LockException {
+        if (!TRIGGER_ACCESS.equals(lockName)) {
+            return super.obtainLock(conn, lockName);
+        }
+        for (int partition : lockedPartitions()) {
+            super.obtainLock(conn, TriggerPartitions.lockName(TRIGGER_ACCESS, partition));
+        }
+        return true;
+    }
+
+    @Override
+    public void releaseLock(String lockName) throws LockException {
+        if (!TRIGGER_ACCESS.equals(lockName)) {
+            super.releaseLock(lockName);
+            return;
+        }
+        for (int partition : lockedPartitions()) {
+            super.releaseLock(TriggerPartitions.lockName(TRIGGER_ACCESS, partition));
+        }
+    }
+
+    private int[] lockedPartitions() {
+        int[] scoped = TriggerPartitions.current();
+        if (scoped != null) {
+            return scoped;
+        }
+        int[] all = new int[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            all[i] = i;
+        }
+        return all;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import org.quartz.Job;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.spi.TriggerFiredBundle;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@link GroupTaggingJobFactory} that runs jobs annotated with {@link JobScopedTransaction} inside a single
+ * transaction. Every {@code @Transactional} call the job makes joins it, so one execution checks out one
+ * connection instead of one per service call. A job that throws rolls the whole unit of work back.
+ * <p>
+ * Quartz's completion bookkeeping ({@code triggeredJobComplete}) is not included. The JDBC job store runs it
+ * through {@code springNonTxDataSource} with its own retry loop, which must not share a transaction that the
+ * job may already have rolled back.
+ */
+public class TransactionalJobFactory extends GroupTaggingJobFactory {
+
+    private final TransactionTemplate transactionTemplate;
+
+    public TransactionalJobFactory(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public Job newJob(TriggerFiredBundle bundle, Scheduler scheduler) throws SchedulerException {
+        Job job = super.newJob(bundle, scheduler);
+        if (bundle.getJobDetail().getJobClass().isAnnotationPresent(JobScopedTransaction.class)) {
+            return new TransactionalJob(job, transactionTemplate);
+        }
+        return job;
+    }
+
+    static class TransactionalJob implements Job {
+
+        private final Job delegate;
+
+        private final TransactionTemplate transactionTemplate;
+
+        TransactionalJob(Job delegate, TransactionTemplate transactionTemplate) {
+            this.delegate = delegate;
+            this.transactionTemplate = transactionTemplate;
+        }
+
+        Job getDelegate() {
+            return delegate;
+        }
+
+        @Override
+        public void execute(JobExecutionContext context) throws JobExecutionException {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try {
+                        delegate.execute(context);
+                    } catch (JobExecutionException e) {
+                        throw new JobFailedException(e);
+                    }
+                });
+            } catch (JobFailedException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    // Carries the checked JobExecutionException out of the transaction callback, rolling back on the way
+    private static class JobFailedException extends RuntimeException {
+
+        JobFailedException(JobExecutionException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized JobExecutionException getCause() {
+            return (JobExecutionException) super.getCause();
+        }
+    }
+}
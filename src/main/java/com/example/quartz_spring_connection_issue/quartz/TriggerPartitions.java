@@ -0,0 +1,56 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import org.quartz.JobKey;
+
+/**
+ * Maps jobs to trigger-lock partitions and carries the partitions the current job-store operation works on.
+ * <p>
+ * Partitions are derived from the {@link JobKey} rather than the trigger key, so every trigger of a job - which
+ * Quartz updates together for {@code @DisallowConcurrentExecution} jobs - is guarded by the same lock.
+ * Without a current scope an operation locks every partition.
+ */
+final class TriggerPartitions {
+
+    private static final ThreadLocal<int[]> scope = new ThreadLocal<>();
+
+    private TriggerPartitions() {
+    }
+
+    static int partitionOf(JobKey jobKey, int partitionCount) {
+        return Math.floorMod(jobKey.hashCode(), partitionCount);
+    }
+
+    static String lockName(String baseLockName, int partition) {
+        return baseLockName + "_P" + partition;
+    }
+
+    /**
+     * Partitions of the current operation in ascending order, or {@code null} when it spans all of them.
+     */
+    static int[] current() {
+        return scope.get();
+    }
+
+    static int[] enter(int[] partitions) {
+        int[] previous = scope.get();
+        scope.set(partitions);
+        return previous;
+    }
+
+    static void exit(int[] previous) {
+        if (previous == null) {
+            scope.remove();
+        } else {
+            scope.set(previous);
+        }
+    }
+
+    static boolean contains(int[] partitions, int partition) {
+        for (int p : partitions) {
+            if (p == partition) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
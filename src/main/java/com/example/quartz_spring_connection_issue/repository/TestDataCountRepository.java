@@ -0,0 +1,21 @@
+package com.example.quartz_spring_connection_issue.repository;
+
+import com.example.quartz_spring_connection_issue.entity.TestDataCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface TestDataCountRepository extends JpaRepository<TestDataCount, Integer> {
+
+    @Modifying
+    @Query("update TestDataCount c set c.rowCount = c.rowCount + :delta where c.stripe = :stripe")
+    int increment(@Param("stripe") int stripe, @Param("delta") long delta);
+
+    @Modifying
+    @Query("update TestDataCount c set c.rowCount = 0")
+    int resetAll();
+
+    @Query("select coalesce(sum(c.rowCount), 0L) from TestDataCount c")
+    long sumRowCount();
+}
@@ -0,0 +1,71 @@
+package com.example.quartz_spring_connection_issue.repository;
+
+import com.example.quartz_spring_connection_issue.entity.TestData;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Append-only {@code test_data} writer on plain JDBC, without the persistence context, dirty checking or
+ * entity lifecycle of the JPA path. Takes part in the surrounding Spring transaction.
+ * <p>
+ * Ids come from {@code test_data_seq} with the same pooled scheme Hibernate uses: each sequence value {@code hi}
+ * reserves {@code hi - ID_ALLOCATION_SIZE + 1 .. hi}, so rows written here never collide with JPA-assigned ids.
+ * Inserted rows bypass Hibernate, so callers must evict the query cache themselves.
+ */
+@Repository
+public class TestDataJdbcRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO test_data (id, name, data_value, created_at, time_bucket) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private long nextId;
+
+    private long hiId = -1;
+
+    public TestDataJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts {@code rows} as one JDBC batch, assigning ids and filling in {@code createdAt} where it is unset,
+     * as {@code @PrePersist} does on the JPA path.
+     */
+    public void insertAll(List<TestData> rows) {
+        Instant now = Instant.now();
+        for (TestData row : rows) {
+            row.setId(nextId());
+            if (row.getCreatedAt() == null) {
+                row.setCreatedAt(now);
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row.getId());
+            ps.setString(2, row.getName());
+            ps.setString(3, row.getValue());
+            ps.setObject(4, OffsetDateTime.ofInstant(row.getCreatedAt(), ZoneOffset.UTC));
+            ps.setLong(5, TestData.bucketOf(row.getCreatedAt()));
+        });
+    }
+
+    // Sequence values are never handed out twice, even when the transaction that drew them rolls back
+    private synchronized long nextId() {
+        if (nextId > hiId) {
+            long hi;
+            do {
+                // The first value (1) would reserve non-positive ids; Hibernate special-cases it, here it is skipped
+                hi = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR test_data_seq", Long.class);
+            } while (hi < TestData.ID_ALLOCATION_SIZE);
+            hiId = hi;
+            nextId = hi - TestData.ID_ALLOCATION_SIZE + 1;
+        }
+        return nextId++;
+    }
+}
@@ -1,7 +1,78 @@
 package com.example.quartz_spring_connection_issue.repository;
 
 import com.example.quartz_spring_connection_issue.entity.TestData;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface TestDataRepository extends JpaRepository<TestData, Long> {
-}
\ No newline at end of file
+
+    /**
+     * Streams every row in id order from an open cursor. Must be consumed inside a transaction and closed;
+     * entities are read-only and the caller should detach them as it goes.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false"),
+            // Keep a full export from flushing the second-level cache
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select t from TestData t order by t.id")
+    Stream<TestData> streamAll();
+
+    /**
+     * Keyset page ordered by id: the rows after {@code afterId}, seeking on the primary key.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<TestData> findByIdGreaterThanOrderByIdAsc(long afterId, Limit limit);
+
+    /**
+     * Keyset page ordered by (name, id): the rows after the given position, seeking on {@code idx_test_data_name_id}.
+     * Rows with a null name are not included.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select t from TestData t where t.name > :afterName or (t.name = :afterName and t.id > :afterId)"
+            + " order by t.name, t.id")
+    List<TestData> findPageByName(@Param("afterName") String afterName, @Param("afterId") long afterId, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select t from TestData t where t.name is not null order by t.name, t.id")
+    List<TestData> findFirstPageByName(Limit limit);
+
+    @Query("select distinct t.timeBucket from TestData t where t.timeBucket < :before order by t.timeBucket")
+    List<Long> findBucketsBefore(@Param("before") long before);
+
+    @Modifying
+    @Query("delete from TestData t where t.timeBucket = :bucket")
+    int deleteBucket(@Param("bucket") long bucket);
+
+    @Query("select min(t.id) from TestData t")
+    Long findMinId();
+
+    @Query("select max(t.id) from TestData t")
+    Long findMaxId();
+
+    /**
+     * Row count per name among ids {@code [from, to)}, seeking on the primary key. Rows with a null name are not
+     * counted.
+     */
+    @Query("select t.name as name, count(t) as rowCount from TestData t"
+            + " where t.id >= :from and t.id < :to and t.name is not null group by t.name")
+    List<NameCount> countByNameInRange(@Param("from") long from, @Param("to") long to);
+
+    interface NameCount {
+
+        String getName();
+
+        long getRowCount();
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.quartz_spring_connection_issue.service;
+
+import java.time.Duration;
+
+public record BatchScheduleResult(int scheduled, Duration elapsed) {
+
+    public double jobsPerSecond() {
+        long nanos = Math.max(elapsed.toNanos(), 1);
+        return scheduled * 1_000_000_000.0 / nanos;
+    }
+}
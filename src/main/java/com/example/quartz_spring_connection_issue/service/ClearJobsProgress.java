@@ -0,0 +1,10 @@
+package com.example.quartz_spring_connection_issue.service;
+
+import java.time.Duration;
+
+/**
+ * Progress of one {@link SchedulerService#clearJobs(org.quartz.impl.matchers.GroupMatcher)} call; {@code id}
+ * tells apart concurrent clears of the same scope.
+ */
+public record ClearJobsProgress(String id, String scope, int total, int deleted, Duration elapsed) {
+}
@@ -0,0 +1,166 @@
+package com.example.quartz_spring_connection_issue.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded queue in front of {@link SchedulerService} for schedule requests that should not block the caller.
+ * <p>
+ * {@link #submit()} only enqueues and returns a tracking ID, or empty when {@code capacity} requests are already
+ * waiting. A single worker thread drains the queue and schedules up to {@code batch-size} jobs per
+ * {@link org.quartz.Scheduler#scheduleJobs} call, so a burst costs one job-store transaction per batch and at most
+ * one pooled connection, leaving the rest of the pool to running jobs. The outcome of the most recent requests can
+ * be looked up with {@link #getStatus(String)}. Whatever is still queued is scheduled on shutdown.
+ */
+@Service
+public class ScheduleIngestionQueue {
+
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(ScheduleIngestionQueue.class);
+
+    public enum Status { QUEUED, SCHEDULED, FAILED }
+
+    private final SchedulerService schedulerService;
+
+    private final int batchSize;
+
+    private final int statusRetention;
+
+    private final BlockingQueue<String> queue;
+
+    private final Map<String, Status> statuses;
+
+    private final Counter rejected;
+
+    private final Timer batchWrites;
+
+    private final Thread worker;
+
+    private volatile boolean closed;
+
+    public ScheduleIngestionQueue(SchedulerService schedulerService,
+                                  MeterRegistry registry,
+                                  @Value("${app.scheduler.ingestion.capacity:10000}") int capacity,
+                                  @Value("${app.scheduler.ingestion.batch-size:500}") int batchSize) {
+        this.schedulerService = schedulerService;
+        this.batchSize = batchSize;
+        this.statusRetention = capacity * 2;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.statuses = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Status> eldest) {
+                return size() > statusRetention;
+            }
+        });
+
+        Gauge.builder("scheduler.ingestion.queue.depth", queue, BlockingQueue::size)
+                .description("Schedule requests waiting to be written to the job store")
+                .register(registry);
+        this.rejected = Counter.builder("scheduler.ingestion.rejected")
+                .description("Schedule requests refused because the ingestion queue was full")
+                .register(registry);
+        this.batchWrites = Timer.builder("scheduler.ingestion.batch.write")
+                .description("Time to write one batch of queued schedule requests")
+                .register(registry);
+
+        this.worker = new Thread(this::drain, "schedule-ingestion");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Queues one TestJob for scheduling.
+     *
+     * @return the tracking ID, or empty if the queue is full
+     */
+    public Optional<String> submit() {
+        String trackingId = UUID.randomUUID().toString();
+        if (closed) {
+            return Optional.empty();
+        }
+        statuses.put(trackingId, Status.QUEUED);
+        if (!queue.offer(trackingId)) {
+            statuses.remove(trackingId);
+            rejected.increment();
+            return Optional.empty();
+        }
+        return Optional.of(trackingId);
+    }
+
+    public Optional<Status> getStatus(String trackingId) {
+        return Optional.ofNullable(statuses.get(trackingId));
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    private void drain() {
+        List<String> batch = new ArrayList<>(batchSize);
+        while (!closed) {
+            try {
+                String first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Schedules one batch; a failed batch is marked {@link Status#FAILED} rather than retried, so a broken
+     * store does not make the queue back up forever.
+     */
+    void write(List<String> batch) {
+        long start = System.nanoTime();
+        Status outcome;
+        try {
+            schedulerService.scheduleTestJobs(batch.stream().map(id -> "testJob-" + id).toList());
+            outcome = Status.SCHEDULED;
+        } catch (Exception e) {
+            log.error("Scheduling {} queued TestJobs failed", batch.size(), e);
+            outcome = Status.FAILED;
+        }
+        batchWrites.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        for (String trackingId : batch) {
+            statuses.put(trackingId, outcome);
+        }
+        log.debug("Ingested {} queued schedule requests ({})", batch.size(), outcome);
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        closed = true;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+
+        List<String> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            write(remaining.subList(from, Math.min(from + batchSize, remaining.size())));
+        }
+        log.info("Schedule ingestion queue closed, {} queued requests scheduled on shutdown", remaining.size());
+    }
+}
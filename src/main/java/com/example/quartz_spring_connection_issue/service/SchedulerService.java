@@ -2,11 +2,21 @@ package com.example.quartz_spring_connection_issue.service;
 
 import com.example.quartz_spring_connection_issue.job.TestJob;
 import org.quartz.*;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class SchedulerService {
@@ -15,8 +25,32 @@ public class SchedulerService {
 
     private final Scheduler scheduler;
 
-    public SchedulerService(Scheduler scheduler) {
+    private final int batchSize;
+
+    private final int maxBatchCount;
+
+    private final int clearChunkSize;
+
+    private final Duration clearChunkPause;
+
+    private final Map<String, ClearJobsProgress> clearProgress = new ConcurrentHashMap<>();
+
+    public SchedulerService(Scheduler scheduler,
+                            @Value("${app.scheduler.batch-size:500}") int batchSize,
+                            @Value("${app.scheduler.max-batch-count:100000}") int maxBatchCount,
+                            @Value("${app.scheduler.clear-chunk-size:500}") int clearChunkSize,
+                            @Value("${app.scheduler.clear-chunk-pause:10ms}") Duration clearChunkPause) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("app.scheduler.batch-size must be > 0");
+        }
+        if (clearChunkSize <= 0) {
+            throw new IllegalArgumentException("app.scheduler.clear-chunk-size must be > 0");
+        }
         this.scheduler = scheduler;
+        this.batchSize = batchSize;
+        this.maxBatchCount = maxBatchCount;
+        this.clearChunkSize = clearChunkSize;
+        this.clearChunkPause = clearChunkPause;
     }
 
     public JobKey scheduleTestJob() throws SchedulerException {
@@ -26,13 +60,7 @@ public class SchedulerService {
                 .withIdentity(jobKey)
                 .build();
 
-        Trigger trigger = TriggerBuilder.newTrigger()
-                .withIdentity("testTrigger", "testGroup")
-                .startAt(Date.from(LocalDateTime.now().plusSeconds(2).toInstant(ZoneOffset.UTC)))
-                .withSchedule(SimpleScheduleBuilder.simpleSchedule()
-                        .withIntervalInSeconds(5)
-                        .withRepeatCount(2))
-                .build();
+        Trigger trigger = buildTestTrigger(TriggerKey.triggerKey("testTrigger", "testGroup"));
 
         scheduler.scheduleJob(jobDetail, trigger);
         log.info("TestJob scheduled to run in 2 seconds with jobKey: {}", jobKey);
@@ -40,8 +68,122 @@ public class SchedulerService {
         return jobKey;
     }
 
+    /**
+     * Schedules {@code count} TestJobs in chunks of {@code app.scheduler.batch-size}.
+     * Each chunk is handed to {@link Scheduler#scheduleJobs(Map, boolean)}, so the JDBC job store
+     * writes all of its JobDetails and triggers under one lock and one transaction.
+     *
+     * @throws IllegalArgumentException if {@code count} is not between 1 and {@code app.scheduler.max-batch-count}
+     */
+    public BatchScheduleResult scheduleTestJobs(int count) throws SchedulerException {
+        return scheduleTestJobs(count, null);
+    }
+
+    /**
+     * Like {@link #scheduleTestJobs(int)}, with every job writing through {@code writePath};
+     * {@code null} leaves it to {@code app.test-data.write-path}.
+     */
+    public BatchScheduleResult scheduleTestJobs(int count, TestDataWritePath writePath) throws SchedulerException {
+        if (count <= 0 || count > maxBatchCount) {
+            throw new IllegalArgumentException("count must be between 1 and " + maxBatchCount + ", was " + count);
+        }
+        String batchId = UUID.randomUUID().toString().substring(0, 8);
+        long start = System.nanoTime();
+
+        Map<JobDetail, Set<? extends Trigger>> chunk = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            addTestJob(chunk, "testJob-" + batchId + "-" + i, writePath);
+
+            if (chunk.size() == batchSize) {
+                scheduler.scheduleJobs(chunk, false);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            scheduler.scheduleJobs(chunk, false);
+        }
+
+        BatchScheduleResult result = new BatchScheduleResult(count, Duration.ofNanos(System.nanoTime() - start));
+        log.info("Batch {} scheduled {} TestJobs in {} ms ({} jobs/s)",
+                batchId, count, result.elapsed().toMillis(), String.format("%.1f", result.jobsPerSecond()));
+
+        return result;
+    }
+
+    /**
+     * Schedules one TestJob per name in {@code testGroup} with a single {@link Scheduler#scheduleJobs(Map, boolean)}
+     * call. The caller is responsible for keeping {@code jobNames} to a sensible batch size.
+     */
+    public void scheduleTestJobs(List<String> jobNames) throws SchedulerException {
+        Map<JobDetail, Set<? extends Trigger>> jobs = new LinkedHashMap<>();
+        for (String name : jobNames) {
+            addTestJob(jobs, name, null);
+        }
+        scheduler.scheduleJobs(jobs, false);
+    }
+
     public void clearJobs() throws SchedulerException {
         scheduler.clear();
         log.info("All jobs cleared");
     }
-}
\ No newline at end of file
+
+    /**
+     * Deletes the jobs matched by {@code matcher}, with their triggers, in chunks of
+     * {@code app.scheduler.clear-chunk-size}. Each chunk is one {@link Scheduler#deleteJobs(List)} call and so one
+     * short job-store transaction; between chunks the trigger lock is released and the scheduler keeps firing.
+     * Progress is logged per chunk and available from {@link #getClearProgress()} while the clear runs.
+     */
+    public ClearJobsProgress clearJobs(GroupMatcher<JobKey> matcher) throws SchedulerException, InterruptedException {
+        String scope = matcher.getCompareWithOperator() + " " + matcher.getCompareToValue();
+        String id = UUID.randomUUID().toString().substring(0, 8);
+        List<JobKey> jobKeys = new ArrayList<>(scheduler.getJobKeys(matcher));
+        long start = System.nanoTime();
+
+        ClearJobsProgress progress = new ClearJobsProgress(id, scope, jobKeys.size(), 0, Duration.ZERO);
+        clearProgress.put(id, progress);
+        try {
+            for (int from = 0; from < jobKeys.size(); from += clearChunkSize) {
+                List<JobKey> chunk = jobKeys.subList(from, Math.min(from + clearChunkSize, jobKeys.size()));
+                scheduler.deleteJobs(chunk);
+
+                progress = new ClearJobsProgress(id, scope, jobKeys.size(), from + chunk.size(),
+                        Duration.ofNanos(System.nanoTime() - start));
+                clearProgress.put(id, progress);
+                log.info("Clearing jobs {} ({}): {}/{} deleted", scope, id, progress.deleted(), progress.total());
+
+                if (!clearChunkPause.isZero() && progress.deleted() < progress.total()) {
+                    Thread.sleep(clearChunkPause.toMillis());
+                }
+            }
+        } finally {
+            clearProgress.remove(id);
+        }
+
+        log.info("Cleared {} jobs {} in {} ms", progress.deleted(), scope, progress.elapsed().toMillis());
+        return progress;
+    }
+
+    public List<ClearJobsProgress> getClearProgress() {
+        return List.copyOf(clearProgress.values());
+    }
+
+    private void addTestJob(Map<JobDetail, Set<? extends Trigger>> jobs, String name, TestDataWritePath writePath) {
+        JobBuilder builder = JobBuilder.newJob(TestJob.class)
+                .withIdentity(name, "testGroup");
+        if (writePath != null) {
+            builder.usingJobData(TestDataWritePath.JOB_DATA_KEY, writePath.name());
+        }
+        JobDetail jobDetail = builder.build();
+        jobs.put(jobDetail, Set.of(buildTestTrigger(TriggerKey.triggerKey(name, "testGroup"))));
+    }
+
+    private Trigger buildTestTrigger(TriggerKey triggerKey) {
+        return TriggerBuilder.newTrigger()
+                .withIdentity(triggerKey)
+                .startAt(Date.from(LocalDateTime.now().plusSeconds(2).toInstant(ZoneOffset.UTC)))
+                .withSchedule(SimpleScheduleBuilder.simpleSchedule()
+                        .withIntervalInSeconds(5)
+                        .withRepeatCount(2))
+                .build();
+    }
+}
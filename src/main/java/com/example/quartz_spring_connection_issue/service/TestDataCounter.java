@@ -0,0 +1,77 @@
+package com.example.quartz_spring_connection_issue.service;
+
+import com.example.quartz_spring_connection_issue.entity.TestDataCount;
+import com.example.quartz_spring_connection_issue.repository.TestDataCountRepository;
+import com.example.quartz_spring_connection_issue.repository.TestDataRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maintains the {@code test_data} row count in the striped {@code test_data_count} table so it can be read
+ * without scanning {@code test_data}.
+ * <p>
+ * {@link #increment(long)} must run in the same transaction as the insert it counts, which keeps the count
+ * consistent with what that transaction can see and rolls it back together with the insert.
+ * The stripes are rebuilt from an exact {@code COUNT(*)} at startup and on {@link #recount()}.
+ */
+@Service
+public class TestDataCounter {
+
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(TestDataCounter.class);
+
+    private final TestDataCountRepository testDataCountRepository;
+
+    private final TestDataRepository testDataRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int stripes;
+
+    public TestDataCounter(TestDataCountRepository testDataCountRepository,
+                           TestDataRepository testDataRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.test-data.count-stripes:16}") int stripes) {
+        this.testDataCountRepository = testDataCountRepository;
+        this.testDataRepository = testDataRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stripes = stripes;
+    }
+
+    // Runs before the Quartz scheduler starts, so no job can increment a stripe that does not exist yet
+    @PostConstruct
+    void initialize() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int stripe = 0; stripe < stripes; stripe++) {
+                if (!testDataCountRepository.existsById(stripe)) {
+                    testDataCountRepository.save(new TestDataCount(stripe, 0));
+                }
+            }
+        });
+        log.info("Reconciled test_data row count at startup: {}", recount());
+    }
+
+    public void increment(long delta) {
+        int stripe = (int) (Thread.currentThread().getId() % stripes);
+        testDataCountRepository.increment(stripe, delta);
+    }
+
+    public long count() {
+        return testDataCountRepository.sumRowCount();
+    }
+
+    /**
+     * Replaces the maintained count with an exact {@code COUNT(*)}. Zeroing the stripes first locks them,
+     * so concurrent inserts wait and then add on top of the recounted value.
+     */
+    public long recount() {
+        return transactionTemplate.execute(status -> {
+            testDataCountRepository.resetAll();
+            long exact = testDataRepository.count();
+            testDataCountRepository.increment(0, exact);
+            return exact;
+        });
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.quartz_spring_connection_issue.service;
+
+import com.example.quartz_spring_connection_issue.entity.TestData;
+import com.example.quartz_spring_connection_issue.repository.TestDataRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+/**
+ * Writes {@code test_data} as NDJSON, one object per line, without loading the table into memory.
+ * <p>
+ * Rows come from a read-only cursor ({@link TestDataRepository#streamAll()}) and each entity is detached as soon
+ * as it is written, so the persistence context stays empty and heap use is independent of the row count.
+ */
+@Service
+public class TestDataExportService {
+
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(TestDataExportService.class);
+
+    private static final int FLUSH_EVERY = 1000;
+
+    private final TestDataRepository testDataRepository;
+
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    public TestDataExportService(TestDataRepository testDataRepository, EntityManager entityManager,
+                                 ObjectMapper objectMapper) {
+        this.testDataRepository = testDataRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream out) throws IOException {
+        long exported = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (Stream<TestData> rows = testDataRepository.streamAll()) {
+            for (TestData data : (Iterable<TestData>) rows::iterator) {
+                writer.write(objectMapper.writeValueAsString(data));
+                writer.write('\n');
+                entityManager.detach(data);
+                if (++exported % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        log.info("Exported {} TestData rows", exported);
+        return exported;
+    }
+}
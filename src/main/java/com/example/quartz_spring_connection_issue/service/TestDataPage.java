@@ -0,0 +1,11 @@
+package com.example.quartz_spring_connection_issue.service;
+
+import com.example.quartz_spring_connection_issue.entity.TestData;
+
+import java.util.List;
+
+/**
+ * One keyset page of TestData; {@code nextCursor} is null on the last page.
+ */
+public record TestDataPage(List<TestData> items, String nextCursor) {
+}
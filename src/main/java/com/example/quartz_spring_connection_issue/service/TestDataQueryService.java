@@ -0,0 +1,83 @@
+package com.example.quartz_spring_connection_issue.service;
+
+import com.example.quartz_spring_connection_issue.entity.TestData;
+import com.example.quartz_spring_connection_issue.repository.TestDataRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Keyset (seek) pagination over {@code test_data}. Each page starts from the sort key of the previous page's last
+ * row instead of an offset, so it costs one index seek however deep the caller pages. The position is handed
+ * out as an opaque cursor token.
+ */
+@Service
+public class TestDataQueryService {
+
+    public enum SortKey { ID, NAME }
+
+    private final TestDataRepository testDataRepository;
+
+    public TestDataQueryService(TestDataRepository testDataRepository) {
+        this.testDataRepository = testDataRepository;
+    }
+
+    /**
+     * @param cursor token from a previous page's {@link TestDataPage#nextCursor()}, or null for the first page
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for a different sort key
+     */
+    @Transactional(readOnly = true)
+    public TestDataPage page(SortKey sortKey, String cursor, int size) {
+        // One extra row tells us whether there is a next page without a count query
+        Limit limit = Limit.of(size + 1);
+        List<TestData> rows;
+        if (sortKey == SortKey.ID) {
+            long afterId = cursor == null ? Long.MIN_VALUE : Long.parseLong(decode(cursor, SortKey.ID)[0]);
+            rows = testDataRepository.findByIdGreaterThanOrderByIdAsc(afterId, limit);
+        } else if (cursor == null) {
+            rows = testDataRepository.findFirstPageByName(limit);
+        } else {
+            String[] position = decode(cursor, SortKey.NAME);
+            rows = testDataRepository.findPageByName(position[1], Long.parseLong(position[0]), limit);
+        }
+
+        if (rows.size() <= size) {
+            return new TestDataPage(rows, null);
+        }
+        List<TestData> items = rows.subList(0, size);
+        return new TestDataPage(List.copyOf(items), encode(sortKey, items.get(size - 1)));
+    }
+
+    static String encode(SortKey sortKey, TestData last) {
+        String position = sortKey == SortKey.ID
+                ? sortKey + ":" + last.getId()
+                : sortKey + ":" + last.getId() + ":" + last.getName();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String[] decode(String cursor, SortKey expected) {
+        String position;
+        try {
+            position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+        // sortKey:id[:name]; the name goes last because it may itself contain ':'
+        String[] parts = position.split(":", expected == SortKey.ID ? 2 : 3);
+        if (!parts[0].equals(expected.name()) || parts.length != (expected == SortKey.ID ? 2 : 3)) {
+            throw new IllegalArgumentException("Cursor was not issued for sort=" + expected.name().toLowerCase());
+        }
+        try {
+            Long.parseLong(parts[1]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+        String[] result = new String[parts.length - 1];
+        System.arraycopy(parts, 1, result, 0, result.length);
+        return result;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.quartz_spring_connection_issue.service;
+
+import com.example.quartz_spring_connection_issue.entity.TestData;
+import com.example.quartz_spring_connection_issue.repository.TestDataRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Purges {@code test_data} rows older than {@code app.test-data.retention.max-age}.
+ * <p>
+ * Rows are grouped into {@link TestData#BUCKET_MILLIS}-wide time buckets when inserted. A bucket is purged only
+ * once all of it has expired, with one bulk {@code DELETE ... WHERE time_bucket = ?} per bucket in its own
+ * transaction, so the table stays at roughly {@code max-age} plus one bucket of rows under continuous load
+ * without row-by-row deletes or one long-running delete transaction.
+ */
+@Service
+public class TestDataRetentionService {
+
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(TestDataRetentionService.class);
+
+    private final TestDataRepository testDataRepository;
+
+    private final TestDataCounter testDataCounter;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Duration maxAge;
+
+    public TestDataRetentionService(TestDataRepository testDataRepository,
+                                    TestDataCounter testDataCounter,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.test-data.retention.max-age:24h}") Duration maxAge) {
+        this.testDataRepository = testDataRepository;
+        this.testDataCounter = testDataCounter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * @return the number of rows deleted
+     */
+    public long purgeExpired(Instant now) {
+        // Buckets before the one containing the cutoff lie entirely before it
+        long firstLiveBucket = TestData.bucketOf(now.minus(maxAge));
+        List<Long> expired = testDataRepository.findBucketsBefore(firstLiveBucket);
+
+        long total = 0;
+        for (Long bucket : expired) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                int rows = testDataRepository.deleteBucket(bucket);
+                testDataCounter.increment(-rows);
+                return rows;
+            });
+            total += deleted;
+            log.info("Purged {} TestData rows from bucket starting {}",
+                    deleted, Instant.ofEpochMilli(bucket * TestData.BUCKET_MILLIS));
+        }
+        return total;
+    }
+}
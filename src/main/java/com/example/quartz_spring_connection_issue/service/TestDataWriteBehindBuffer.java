@@ -0,0 +1,238 @@
+package com.example.quartz_spring_connection_issue.service;
+
+import com.example.quartz_spring_connection_issue.entity.TestData;
+import com.example.quartz_spring_connection_issue.repository.TestDataRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind buffer for {@link TestData} produced by concurrently running jobs.
+ * <p>
+ * Records are queued in memory and written by a single flusher thread, one transaction and one JDBC batch
+ * per {@code batch-size} records, whenever the buffer reaches {@code batch-size} or {@code flush-interval}
+ * elapses. Whatever is still buffered is flushed on shutdown; records added after that are written directly.
+ * Buffered records are not visible to {@link TestService#countData()} until they are flushed.
+ * <p>
+ * The buffer holds at most {@code capacity} records; once it is full, callers write their record themselves,
+ * which slows producers down to the speed of the database. A batch that fails is put back and retried on the next
+ * flush; after {@code max-attempts} failures its records are written one by one, and a record that still fails is
+ * logged and dropped.
+ */
+@Service
+public class TestDataWriteBehindBuffer {
+
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(TestDataWriteBehindBuffer.class);
+
+    private final TestDataRepository testDataRepository;
+
+    private final TestDataCounter testDataCounter;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+
+    private final int batchSize;
+
+    private final int capacity;
+
+    private final int maxAttempts;
+
+    private final ConcurrentLinkedQueue<Pending> buffer = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger buffered = new AtomicInteger();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    // add() holds the read lock, close() the write lock, so nothing is buffered after the final flush
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+
+    private final ScheduledExecutorService flusher;
+
+    private boolean closed;
+
+    public TestDataWriteBehindBuffer(TestDataRepository testDataRepository,
+                                     TestDataCounter testDataCounter,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${app.test-data.write-behind.enabled:false}") boolean enabled,
+                                     @Value("${app.test-data.write-behind.batch-size:50}") int batchSize,
+                                     @Value("${app.test-data.write-behind.flush-interval:200ms}") Duration flushInterval,
+                                     @Value("${app.test-data.write-behind.capacity:10000}") int capacity,
+                                     @Value("${app.test-data.write-behind.max-attempts:3}") int maxAttempts) {
+        if (batchSize <= 0 || capacity <= 0 || maxAttempts <= 0) {
+            throw new IllegalArgumentException("write-behind batch-size, capacity and max-attempts must be > 0");
+        }
+        this.testDataRepository = testDataRepository;
+        this.testDataCounter = testDataCounter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.capacity = capacity;
+        this.maxAttempts = maxAttempts;
+
+        if (enabled) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "test-data-write-behind"));
+            this.flusher.scheduleWithFixedDelay(this::flush,
+                    flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+            log.info("TestData write-behind enabled (batchSize={}, flushInterval={}, capacity={})",
+                    batchSize, flushInterval, capacity);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getBufferedCount() {
+        return buffered.get();
+    }
+
+    /**
+     * Records given up on after {@code max-attempts} failed batch writes and a failed individual write.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public void add(String name, String value) {
+        TestData data = new TestData();
+        data.setName(name);
+        data.setValue(value);
+
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                write(List.of(data));
+                return;
+            }
+            if (buffered.incrementAndGet() > capacity) {
+                buffered.decrementAndGet();
+                write(List.of(data));
+                return;
+            }
+            buffer.add(new Pending(data));
+            if (buffered.get() >= batchSize && flushRequested.compareAndSet(false, true)) {
+                flusher.execute(this::flush);
+            }
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drains the buffer in {@code batch-size} chunks. Runs on the flusher thread, and once more on shutdown.
+     * A failed chunk is put back and the rest is left for the next flush.
+     */
+    synchronized void flush() {
+        flushRequested.set(false);
+
+        List<Pending> batch = new ArrayList<>(batchSize);
+        Pending pending;
+        while ((pending = buffer.poll()) != null) {
+            buffered.decrementAndGet();
+            batch.add(pending);
+            if (batch.size() == batchSize) {
+                if (!writeOrRequeue(batch)) {
+                    return;
+                }
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeOrRequeue(batch);
+        }
+    }
+
+    private boolean writeOrRequeue(List<Pending> batch) {
+        try {
+            write(batch.stream().map(Pending::data).toList());
+            return true;
+        } catch (Exception e) {
+            List<Pending> retry = new ArrayList<>(batch.size());
+            for (Pending pending : batch) {
+                pending.data().setId(null);
+                pending.attempts++;
+                if (pending.attempts < maxAttempts) {
+                    retry.add(pending);
+                } else {
+                    writeIndividually(pending);
+                }
+            }
+            log.error("Write-behind flush of {} TestData records failed, re-queueing {}", batch.size(), retry.size(), e);
+            buffer.addAll(retry);
+            buffered.addAndGet(retry.size());
+            return false;
+        }
+    }
+
+    private void writeIndividually(Pending pending) {
+        try {
+            write(List.of(pending.data()));
+        } catch (Exception e) {
+            dropped.incrementAndGet();
+            log.error("Dropping TestData {} after {} failed attempts", pending.data(), pending.attempts + 1, e);
+        }
+    }
+
+    private void write(List<TestData> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            testDataRepository.saveAll(batch);
+            testDataCounter.increment(batch.size());
+        });
+        log.debug("Flushed {} TestData records", batch.size());
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        closeLock.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        // Every failed round uses up an attempt, so this ends once records are written or dropped
+        while (buffered.get() > 0) {
+            flush();
+        }
+        log.info("TestData write-behind buffer flushed on shutdown");
+    }
+
+    private static class Pending {
+
+        private final TestData data;
+
+        private int attempts;
+
+        Pending(TestData data) {
+            this.data = data;
+        }
+
+        TestData data() {
+            return data;
+        }
+    }
+}
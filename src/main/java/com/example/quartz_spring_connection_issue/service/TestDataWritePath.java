@@ -0,0 +1,22 @@
+package com.example.quartz_spring_connection_issue.service;
+
+import java.util.Locale;
+
+/**
+ * How {@link TestService} inserts {@code test_data} rows. A job picks one with the {@link #JOB_DATA_KEY} entry of its
+ * JobDataMap; jobs without it use {@code app.test-data.write-path}.
+ */
+public enum TestDataWritePath {
+
+    /** Through {@code TestDataRepository} and the persistence context. */
+    JPA,
+
+    /** Through {@code TestDataJdbcRepository}, one JDBC batch without entity management. */
+    JDBC;
+
+    public static final String JOB_DATA_KEY = "writePath";
+
+    public static TestDataWritePath from(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -1,9 +1,21 @@
 package com.example.quartz_spring_connection_issue.service;
 
+import com.example.quartz_spring_connection_issue.datasource.ReplicaHealthMonitor;
 import com.example.quartz_spring_connection_issue.entity.TestData;
+import com.example.quartz_spring_connection_issue.repository.TestDataJdbcRepository;
 import com.example.quartz_spring_connection_issue.repository.TestDataRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
 
 @Service
 public class TestService {
@@ -12,8 +24,35 @@ public class TestService {
 
     private final TestDataRepository testDataRepository;
 
-    public TestService(TestDataRepository testDataRepository) {
+    private final TestDataJdbcRepository testDataJdbcRepository;
+
+    private final TestDataCounter testDataCounter;
+
+    private final SessionFactory sessionFactory;
+
+    private final ReplicaHealthMonitor replicaHealth;
+
+    private final TransactionTemplate reads;
+
+    private final TransactionTemplate replicaReads;
+
+    public TestService(TestDataRepository testDataRepository,
+                       TestDataJdbcRepository testDataJdbcRepository,
+                       TestDataCounter testDataCounter,
+                       EntityManagerFactory entityManagerFactory,
+                       PlatformTransactionManager transactionManager,
+                       ObjectProvider<ReplicaHealthMonitor> replicaHealth) {
         this.testDataRepository = testDataRepository;
+        this.testDataJdbcRepository = testDataJdbcRepository;
+        this.testDataCounter = testDataCounter;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.replicaHealth = replicaHealth.getIfAvailable();
+
+        this.reads = new TransactionTemplate(transactionManager);
+        this.reads.setReadOnly(true);
+        this.replicaReads = new TransactionTemplate(transactionManager);
+        this.replicaReads.setReadOnly(true);
+        this.replicaReads.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
     @Transactional
@@ -22,13 +61,58 @@ public class TestService {
         data.setName(name);
         data.setValue(value);
         testDataRepository.save(data);
+        testDataCounter.increment(1);
         log.info("Saved data: {} = {}", name, value);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Same as {@link #saveData(String, String)}, but through {@code writePath}.
+     */
+    @Transactional
+    public void saveData(String name, String value, TestDataWritePath writePath) {
+        if (writePath == TestDataWritePath.JPA) {
+            saveData(name, value);
+            return;
+        }
+
+        TestData data = new TestData();
+        data.setName(name);
+        data.setValue(value);
+        testDataJdbcRepository.insertAll(List.of(data));
+        testDataCounter.increment(1);
+        evictQueryCacheAfterCommit();
+        log.info("Saved data over JDBC: {} = {}", name, value);
+    }
+
+    /**
+     * Maintained row count. While a read replica is usable this always runs in its own read-only transaction, so
+     * callers inside a read-write transaction (such as a {@code @JobScopedTransaction} job) still read from the
+     * replica instead of joining the primary connection; otherwise it joins any transaction in progress.
+     */
     public long countData() {
-        long count = testDataRepository.count();
+        TransactionTemplate template = replicaHealth != null && replicaHealth.isUsable() ? replicaReads : reads;
+        long count = template.execute(status -> testDataCounter.count());
         log.info("Data count: {}", count);
         return count;
     }
-}
\ No newline at end of file
+
+    /**
+     * Exact {@code COUNT(*)} over {@code test_data}; also corrects the maintained count used by {@link #countData()}.
+     */
+    @Transactional
+    public long recountData() {
+        long count = testDataCounter.recount();
+        log.info("Data recount: {}", count);
+        return count;
+    }
+
+    // JDBC inserts do not bump Hibernate's update timestamps, so cached test_data query results would stay stale
+    private void evictQueryCacheAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                sessionFactory.getCache().evictQueryRegions();
+            }
+        });
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import org.quartz.SchedulerConfigException;
+import org.quartz.spi.ThreadPool;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Quartz {@link ThreadPool} that runs every job on its own virtual thread.
+ * <p>
+ * {@code org.quartz.threadPool.threadCount} is kept as the name of the setting so the class can be swapped
+ * for {@link org.quartz.simpl.SimpleThreadPool} without touching the rest of the configuration, but here it is
+ * the maximum number of jobs executing at once rather than a number of pooled threads. Keep it below the
+ * DataSource pool size so JDBC-bound jobs cannot starve the job store of connections.
+ * <p>
+ * Only compiled with the Java 21 toolchain profile ({@code ./gradlew -PvirtualThreads ...}).
+ */
+public class VirtualThreadPool implements ThreadPool {
+
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(VirtualThreadPool.class);
+
+    private final Object lock = new Object();
+
+    private int threadCount = 10;
+
+    private String instanceName = "QuartzScheduler";
+
+    private ThreadFactory threadFactory;
+
+    private int running;
+
+    private boolean shutdown;
+
+    public void setThreadCount(int threadCount) {
+        this.threadCount = threadCount;
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    @Override
+    public void initialize() throws SchedulerConfigException {
+        if (threadCount <= 0) {
+            throw new SchedulerConfigException("Thread count must be > 0");
+        }
+        threadFactory = Thread.ofVirtual()
+                .name(instanceName + "_VirtualWorker-", 1)
+                .factory();
+        log.info("VirtualThreadPool initialized with a concurrency limit of {}", threadCount);
+    }
+
+    @Override
+    public boolean runInThread(Runnable runnable) {
+        if (runnable == null) {
+            return false;
+        }
+
+        synchronized (lock) {
+            while (running >= threadCount && !shutdown) {
+                try {
+                    lock.wait(500);
+                } catch (InterruptedException ignore) {
+                }
+            }
+            if (shutdown) {
+                return false;
+            }
+            running++;
+        }
+
+        threadFactory.newThread(() -> {
+            try {
+                runnable.run();
+            } finally {
+                synchronized (lock) {
+                    running--;
+                    lock.notifyAll();
+                }
+            }
+        }).start();
+        return true;
+    }
+
+    @Override
+    public int blockForAvailableThreads() {
+        synchronized (lock) {
+            while (running >= threadCount && !shutdown) {
+                try {
+                    lock.wait(500);
+                } catch (InterruptedException ignore) {
+                }
+            }
+            return threadCount - running;
+        }
+    }
+
+    @Override
+    public void shutdown(boolean waitForJobsToComplete) {
+        synchronized (lock) {
+            shutdown = true;
+            lock.notifyAll();
+
+            if (waitForJobsToComplete) {
+                while (running > 0) {
+                    log.debug("Waiting for {} virtual worker(s) to finish", running);
+                    try {
+                        lock.wait(100);
+                    } catch (InterruptedException ignore) {
+                    }
+                }
+            }
+        }
+        log.debug("VirtualThreadPool shutdown complete");
+    }
+
+    @Override
+    public int getPoolSize() {
+        return threadCount;
+    }
+
+    @Override
+    public void setInstanceId(String schedInstId) {
+    }
+
+    @Override
+    public void setInstanceName(String schedName) {
+        this.instanceName = schedName;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.quartz_spring_connection_issue;
+
+import com.example.quartz_spring_connection_issue.quartz.GroupFairThreadPool;
+import com.example.quartz_spring_connection_issue.quartz.HybridJobStore;
+import com.example.quartz_spring_connection_issue.quartz.InstrumentedLocalDataSourceJobStore;
+import com.example.quartz_spring_connection_issue.quartz.PartitionedJobStore;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.quartz.Scheduler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application with the shipped {@code src/main/resources} configuration under each profile, so a
+ * Quartz property without a setter on that profile's job store or thread pool fails here instead of at startup.
+ * The test {@code application.yml} is deliberately not used.
+ */
+class ApplicationProfilesContextTest {
+
+    private static final String MAIN_CONFIG = "spring.config.location=file:src/main/resources/";
+
+    @Nested
+    @SpringBootTest(properties = {MAIN_CONFIG, "spring.datasource.url=jdbc:h2:mem:profile-default;MODE=MySQL"})
+    @DirtiesContext
+    class DefaultProfile {
+
+        @Autowired
+        private Scheduler scheduler;
+
+        @Test
+        void startsWithInstrumentedJobStore() throws Exception {
+            assertThat(scheduler.getMetaData().getJobStoreClass()).isEqualTo(InstrumentedLocalDataSourceJobStore.class);
+            assertThat(scheduler.getMetaData().getThreadPoolClass()).isEqualTo(GroupFairThreadPool.class);
+        }
+    }
+
+    @Nested
+    @SpringBootTest(properties = {MAIN_CONFIG, "spring.datasource.url=jdbc:h2:mem:profile-hybrid;MODE=MySQL"})
+    @ActiveProfiles("hybrid-store")
+    @DirtiesContext
+    class HybridStoreProfile {
+
+        @Autowired
+        private Scheduler scheduler;
+
+        @Test
+        void startsWithHybridJobStore() throws Exception {
+            assertThat(scheduler.getMetaData().getJobStoreClass()).isEqualTo(HybridJobStore.class);
+        }
+    }
+
+    @Nested
+    @SpringBootTest(properties = {MAIN_CONFIG, "spring.datasource.url=jdbc:h2:mem:profile-clustered;MODE=MySQL"})
+    @ActiveProfiles("clustered")
+    @DirtiesContext
+    class ClusteredProfile {
+
+        @Autowired
+        private Scheduler scheduler;
+
+        @Test
+        void startsWithPartitionedJobStore() throws Exception {
+            assertThat(scheduler.getMetaData().getJobStoreClass()).isEqualTo(PartitionedJobStore.class);
+        }
+    }
+
+    // VirtualThreadPool is only compiled by the Java 21 build (-PvirtualThreads)
+    @Nested
+    @SpringBootTest(properties = {MAIN_CONFIG, "spring.datasource.url=jdbc:h2:mem:profile-virtual;MODE=MySQL"})
+    @ActiveProfiles("virtual-threads")
+    @EnabledIf("com.example.quartz_spring_connection_issue.ApplicationProfilesContextTest#virtualThreadPoolCompiled")
+    @DirtiesContext
+    class VirtualThreadsProfile {
+
+        @Autowired
+        private Scheduler scheduler;
+
+        @Test
+        void startsWithVirtualThreadPool() throws Exception {
+            assertThat(scheduler.getMetaData().getThreadPoolClass().getSimpleName()).isEqualTo("VirtualThreadPool");
+        }
+    }
+
+    static boolean virtualThreadPoolCompiled() {
+        try {
+            Class.forName("com.example.quartz_spring_connection_issue.quartz.VirtualThreadPool");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
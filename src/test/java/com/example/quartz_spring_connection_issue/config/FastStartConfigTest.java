@@ -0,0 +1,91 @@
+package com.example.quartz_spring_connection_issue.config;
+
+import com.example.quartz_spring_connection_issue.config.FastStartConfig.FastStartListener;
+import com.example.quartz_spring_connection_issue.config.FastStartConfig.JpaSchemaFingerprint;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class FastStartConfigTest {
+
+    private static final String ENTITY_PACKAGE = "com.example.quartz_spring_connection_issue.entity";
+
+    private final SchemaFingerprintStore fingerprintStore = new SchemaFingerprintStore(new DriverManagerDataSource(
+            "jdbc:h2:mem:fast-start-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+
+    private final SchedulerFactoryBean schedulerFactoryBean = mock(SchedulerFactoryBean.class);
+
+    @Test
+    void skipsJpaDdlOnlyOnceTheFingerprintIsRecordedOnReady() {
+        JpaSchemaFingerprint firstBoot = fingerprint();
+        Map<String, Object> properties = hibernateProperties("update");
+        firstBoot.customize(properties);
+        assertThat(properties).containsEntry("hibernate.hbm2ddl.auto", "update");
+
+        // Not recorded before the application is ready, a failed start must run the DDL again
+        FastStartListener listener = listener(firstBoot, true);
+        listener.onContextRefreshed(mock(ContextRefreshedEvent.class));
+        assertThat(fingerprintStore.find("jpa")).isEmpty();
+        Map<String, Object> beforeReady = hibernateProperties("update");
+        fingerprint().customize(beforeReady);
+        assertThat(beforeReady).containsEntry("hibernate.hbm2ddl.auto", "update");
+
+        listener.onApplicationReady(mock(ApplicationReadyEvent.class));
+        assertThat(fingerprintStore.find("jpa")).isPresent();
+
+        Map<String, Object> secondBoot = hibernateProperties("update");
+        fingerprint().customize(secondBoot);
+        assertThat(secondBoot).containsEntry("hibernate.hbm2ddl.auto", "none");
+
+        // A different ddl-auto is a different fingerprint
+        Map<String, Object> recreate = hibernateProperties("create");
+        fingerprint().customize(recreate);
+        assertThat(recreate).containsEntry("hibernate.hbm2ddl.auto", "create");
+    }
+
+    @Test
+    void leavesNoneAndValidateAlone() {
+        Map<String, Object> validate = hibernateProperties("validate");
+        JpaSchemaFingerprint fingerprint = fingerprint();
+        fingerprint.customize(validate);
+        fingerprint.recordIfApplied();
+
+        assertThat(validate).containsEntry("hibernate.hbm2ddl.auto", "validate");
+        assertThat(fingerprintStore.find("jpa")).isEmpty();
+    }
+
+    @Test
+    void startsTheSchedulerWhenReadyOnlyIfAutoStartupIsOn() {
+        listener(fingerprint(), false).onApplicationReady(mock(ApplicationReadyEvent.class));
+        verify(schedulerFactoryBean, never()).start();
+
+        listener(fingerprint(), true).onApplicationReady(mock(ApplicationReadyEvent.class));
+        verify(schedulerFactoryBean).start();
+    }
+
+    private JpaSchemaFingerprint fingerprint() {
+        return new JpaSchemaFingerprint(List.of(ENTITY_PACKAGE), fingerprintStore);
+    }
+
+    private FastStartListener listener(JpaSchemaFingerprint fingerprint, boolean autoStartup) {
+        return new FastStartListener(new StartupPhaseTimings(), fingerprint, schedulerFactoryBean, autoStartup);
+    }
+
+    private static Map<String, Object> hibernateProperties(String ddlAuto) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("hibernate.hbm2ddl.auto", ddlAuto);
+        properties.put("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        return properties;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.quartz_spring_connection_issue.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.autoconfigure.quartz.QuartzProperties;
+import org.springframework.boot.sql.init.DatabaseInitializationMode;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs a stand-in schema script from a temporary file against an in-memory H2 database, so changing the script
+ * between boots can be simulated.
+ */
+class FingerprintedQuartzSchemaInitializerTest {
+
+    @TempDir
+    Path scripts;
+
+    private final DataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:quartz-schema-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+    private Path script;
+
+    private QuartzProperties properties;
+
+    private SchemaFingerprintStore fingerprintStore;
+
+    @BeforeEach
+    void setUp() {
+        script = scripts.resolve("tables.sql");
+        properties = new QuartzProperties();
+        properties.getJdbc().setInitializeSchema(DatabaseInitializationMode.ALWAYS);
+        properties.getJdbc().setSchema(script.toUri().toString());
+        fingerprintStore = new SchemaFingerprintStore(dataSource);
+    }
+
+    @Test
+    void skipsUnchangedScriptsAndRerunsChangedOnes() throws Exception {
+        Files.writeString(script, "CREATE TABLE schema_v1 (id INT);");
+        assertThat(boot()).isTrue();
+        String recorded = fingerprintStore.find(FingerprintedQuartzSchemaInitializer.COMPONENT).orElseThrow();
+
+        // The script would fail on a second run, as the table already exists
+        assertThat(boot()).isFalse();
+        assertThat(fingerprintStore.find(FingerprintedQuartzSchemaInitializer.COMPONENT)).contains(recorded);
+
+        Files.writeString(script, "CREATE TABLE schema_v2 (id INT);");
+        assertThat(boot()).isTrue();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.tables WHERE LOWER(table_name) = 'schema_v2'", Integer.class))
+                .isEqualTo(1);
+        assertThat(fingerprintStore.find(FingerprintedQuartzSchemaInitializer.COMPONENT).orElseThrow())
+                .isNotEqualTo(recorded);
+    }
+
+    // A fresh initializer per call, as on each application start
+    private boolean boot() {
+        return new FingerprintedQuartzSchemaInitializer(dataSource, properties, fingerprintStore, new StartupPhaseTimings())
+                .initializeDatabase();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.quartz_spring_connection_issue.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two in-memory H2 databases stand in for primary and replica; each knows its own name. Replication is
+ * simulated by writing the heartbeat into the replica by hand.
+ */
+class ReadOnlyRoutingDataSourceTest {
+
+    private final DataSource primary = database("primary");
+
+    private final DataSource replica = database("replica");
+
+    private ReplicaHealthMonitor health;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readWrite;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        health = new ReplicaHealthMonitor(primary, replica, Duration.ofSeconds(5), registry);
+        DataSource routing = ReadOnlyRoutingDataSource.lazy(primary, replica, health, registry);
+
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    void readOnlyTransactionsUseHealthyReplica() {
+        replicate(System.currentTimeMillis());
+        health.check();
+
+        assertThat(readOnly.execute(status -> whoAmI())).isEqualTo("replica");
+        assertThat(readWrite.execute(status -> whoAmI())).isEqualTo("primary");
+        assertThat(whoAmI()).isEqualTo("primary");
+    }
+
+    @Test
+    void laggingOrMissingReplicaFallsBackToPrimary() {
+        // No heartbeat on the replica yet
+        health.check();
+        assertThat(health.isUsable()).isFalse();
+        assertThat(readOnly.execute(status -> whoAmI())).isEqualTo("primary");
+
+        replicate(System.currentTimeMillis() - 60_000);
+        health.check();
+        assertThat(health.isUsable()).isFalse();
+        assertThat(health.getLagMillis()).isGreaterThanOrEqualTo(60_000);
+        assertThat(readOnly.execute(status -> whoAmI())).isEqualTo("primary");
+    }
+
+    private String whoAmI() {
+        return jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class);
+    }
+
+    private void replicate(long beat) {
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT NOT NULL PRIMARY KEY, beat BIGINT NOT NULL)");
+        replicaJdbc.update("DELETE FROM replica_heartbeat");
+        replicaJdbc.update("INSERT INTO replica_heartbeat (id, beat) VALUES (1, ?)", beat);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE whoami (name VARCHAR(16))");
+        jdbc.update("INSERT INTO whoami VALUES (?)", name);
+        return dataSource;
+    }
+}
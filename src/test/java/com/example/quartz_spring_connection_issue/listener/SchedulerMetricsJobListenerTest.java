@@ -0,0 +1,79 @@
+package com.example.quartz_spring_connection_issue.listener;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.Job;
+import org.quartz.JobBuilder;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerMetaData;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SchedulerMetricsJobListenerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final SchedulerMetricsJobListener listener = new SchedulerMetricsJobListener(registry);
+
+    private final JobExecutionContext context = mock(JobExecutionContext.class);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(context.getJobDetail()).thenReturn(JobBuilder.newJob(Job.class).withIdentity("job", "testGroup").build());
+        Scheduler scheduler = mock(Scheduler.class);
+        SchedulerMetaData metaData = mock(SchedulerMetaData.class);
+        when(metaData.getThreadPoolSize()).thenReturn(4);
+        when(scheduler.getMetaData()).thenReturn(metaData);
+        when(context.getScheduler()).thenReturn(scheduler);
+    }
+
+    @Test
+    void recordsFireLagAndPoolSaturationWhileExecuting() {
+        when(context.getScheduledFireTime()).thenReturn(new Date(10_000));
+        when(context.getFireTime()).thenReturn(new Date(10_250));
+
+        listener.jobToBeExecuted(context);
+
+        assertThat(registry.get("quartz.trigger.fire.lag").tag("group", "testGroup").timer()
+                .totalTime(TimeUnit.MILLISECONDS)).isEqualTo(250);
+        assertThat(registry.get("quartz.threadpool.active").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("quartz.threadpool.size").gauge().value()).isEqualTo(4);
+        assertThat(registry.get("quartz.threadpool.saturation").gauge().value()).isEqualTo(0.25);
+
+        listener.jobWasExecuted(context, null);
+
+        assertThat(registry.get("quartz.threadpool.active").gauge().value()).isZero();
+        assertThat(registry.get("quartz.threadpool.saturation").gauge().value()).isZero();
+    }
+
+    @Test
+    void recordsExecutionTimeByOutcome() {
+        when(context.getJobRunTime()).thenReturn(120L);
+
+        listener.jobToBeExecuted(context);
+        listener.jobWasExecuted(context, null);
+        listener.jobToBeExecuted(context);
+        listener.jobWasExecuted(context, new JobExecutionException("failed"));
+
+        assertThat(registry.get("quartz.job.execution").tags("group", "testGroup", "outcome", "success").timer()
+                .totalTime(TimeUnit.MILLISECONDS)).isEqualTo(120);
+        assertThat(registry.get("quartz.job.execution").tags("group", "testGroup", "outcome", "failure").timer()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void countsVetoes() {
+        listener.jobExecutionVetoed(context);
+
+        assertThat(registry.get("quartz.job.vetoed").tag("group", "testGroup").counter().count()).isEqualTo(1);
+        assertThat(registry.get("quartz.threadpool.active").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.quartz_spring_connection_issue.listener;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.quartz.JobExecutionContext;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class SchedulerMetricsTriggerListenerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final SchedulerMetricsTriggerListener listener = new SchedulerMetricsTriggerListener(registry);
+
+    private final Trigger trigger = TriggerBuilder.newTrigger()
+            .withIdentity("trigger", "triggers")
+            .forJob("job", "testGroup")
+            .build();
+
+    @Test
+    void countsFiredCompletedAndMisfiredTriggersByJobGroup() {
+        JobExecutionContext context = mock(JobExecutionContext.class);
+
+        listener.triggerFired(trigger, context);
+        assertThat(listener.vetoJobExecution(trigger, context)).isFalse();
+        listener.triggerComplete(trigger, context, Trigger.CompletedExecutionInstruction.NOOP);
+        listener.triggerMisfired(trigger);
+        listener.triggerMisfired(trigger);
+
+        assertThat(registry.get("quartz.trigger.fired").tag("group", "testGroup").counter().count()).isEqualTo(1);
+        assertThat(registry.get("quartz.trigger.completed").tag("group", "testGroup").counter().count()).isEqualTo(1);
+        assertThat(registry.get("quartz.trigger.misfired").tag("group", "testGroup").counter().count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.quartz_spring_connection_issue.load;
+
+import com.example.quartz_spring_connection_issue.quartz.InstrumentedLocalDataSourceJobStore;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.quartz.Job;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.Scheduler;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.quartz.listeners.TriggerListenerSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load generator for a single scheduler node on the embedded H2 job store.
+ * <p>
+ * Schedules {@code load.triggers} repeating triggers every {@code load.interval}, spread evenly across one
+ * interval, runs them for {@code load.duration} and reports fire-lag and execution-time percentiles plus missed
+ * fires. Raise {@code load.triggers} or lower {@code load.interval} until lag or missed fires climb to find the
+ * node's trigger-density ceiling. Excluded from {@code test}; run it with
+ * {@code ./gradlew loadTest -Pload.triggers=500 -Pload.interval=1s -Pload.duration=60s}.
+ */
+@Tag("load")
+class SchedulerLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SchedulerLoadTest.class);
+
+    private static final ConcurrentLinkedQueue<Long> fireLagMillis = new ConcurrentLinkedQueue<>();
+
+    private static final ConcurrentLinkedQueue<Long> executionMicros = new ConcurrentLinkedQueue<>();
+
+    private static volatile long workMillis;
+
+    @Test
+    void reportFireLagUnderLoad() throws Exception {
+        int triggers = Integer.getInteger("load.triggers", 200);
+        Duration interval = duration("load.interval", "1s");
+        Duration runFor = duration("load.duration", "30s");
+        int threads = Integer.getInteger("load.threads", 10);
+        workMillis = Long.getLong("load.jobMillis", 5);
+        String jobStoreClass = System.getProperty("load.jobStoreClass", InstrumentedLocalDataSourceJobStore.class.getName());
+
+        fireLagMillis.clear();
+        executionMicros.clear();
+        AtomicLong misfires = new AtomicLong();
+
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:load-" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(threads + 5);
+
+        SchedulerFactoryBean factory = new SchedulerFactoryBean();
+        try {
+            new ResourceDatabasePopulator(new ClassPathResource("org/quartz/impl/jdbcjobstore/tables_h2.sql"))
+                    .execute(dataSource);
+
+            Properties properties = new Properties();
+            properties.setProperty("org.quartz.scheduler.instanceName", "LoadScheduler");
+            properties.setProperty("org.quartz.scheduler.batchTriggerAcquisitionMaxCount", String.valueOf(threads));
+            properties.setProperty("org.quartz.jobStore.class", jobStoreClass);
+            properties.setProperty("org.quartz.jobStore.driverDelegateClass", "org.quartz.impl.jdbcjobstore.HSQLDBDelegate");
+            properties.setProperty("org.quartz.jobStore.misfireThreshold", System.getProperty("load.misfireThreshold", "5000"));
+            if (jobStoreClass.equals(InstrumentedLocalDataSourceJobStore.class.getName())) {
+                properties.setProperty("org.quartz.jobStore.adaptiveAcquisition", "true");
+            }
+            properties.setProperty("org.quartz.threadPool.class", "org.quartz.simpl.SimpleThreadPool");
+            properties.setProperty("org.quartz.threadPool.threadCount", String.valueOf(threads));
+
+            factory.setDataSource(dataSource);
+            factory.setQuartzProperties(properties);
+            factory.setAutoStartup(false);
+            factory.afterPropertiesSet();
+            Scheduler scheduler = factory.getScheduler();
+            scheduler.getListenerManager().addTriggerListener(new TriggerListenerSupport() {
+                @Override
+                public String getName() {
+                    return "loadMisfireCounter";
+                }
+
+                @Override
+                public void triggerMisfired(Trigger trigger) {
+                    misfires.incrementAndGet();
+                }
+            });
+
+            // Give scheduling and startup a moment so the first fires are not late by construction
+            long start = System.currentTimeMillis() + 2000;
+            long end = start + runFor.toMillis();
+            Map<JobDetail, Set<? extends Trigger>> jobs = new LinkedHashMap<>();
+            long expectedFires = 0;
+            for (int i = 0; i < triggers; i++) {
+                long firstFire = start + interval.toMillis() * i / triggers;
+                JobDetail job = JobBuilder.newJob(LoadJob.class).withIdentity("load-" + i, "load").build();
+                jobs.put(job, Set.of(TriggerBuilder.newTrigger()
+                        .withIdentity("load-" + i, "load")
+                        .startAt(new Date(firstFire))
+                        .withSchedule(SimpleScheduleBuilder.simpleSchedule()
+                                .withIntervalInMilliseconds(interval.toMillis())
+                                .repeatForever()
+                                .withMisfireHandlingInstructionNextWithRemainingCount())
+                        .build()));
+                expectedFires += (end - firstFire) / interval.toMillis() + 1;
+            }
+            scheduler.scheduleJobs(jobs, false);
+            scheduler.start();
+
+            Thread.sleep(end - System.currentTimeMillis());
+            scheduler.standby();
+            // Let executions already handed to worker threads finish before reading the samples
+            Thread.sleep(Math.max(1000, workMillis * 10));
+
+            long fired = fireLagMillis.size();
+            long missed = Math.max(0, expectedFires - fired);
+            String report = String.format("""
+                    Scheduler load report
+                      store=%s threads=%d triggers=%d interval=%s duration=%s jobMillis=%d
+                      density=%.1f fires/s, expected=%d, fired=%d, missed=%d (%.2f%%), misfires=%d
+                      fire lag (ms):       p50=%d p99=%d p999=%d max=%d
+                      execution (us):      p50=%d p99=%d p999=%d max=%d""",
+                    jobStoreClass.substring(jobStoreClass.lastIndexOf('.') + 1), threads, triggers, interval, runFor,
+                    workMillis, triggers * 1000.0 / interval.toMillis(), expectedFires, fired, missed,
+                    expectedFires == 0 ? 0.0 : missed * 100.0 / expectedFires, misfires.get(),
+                    percentile(fireLagMillis, 0.5), percentile(fireLagMillis, 0.99),
+                    percentile(fireLagMillis, 0.999), percentile(fireLagMillis, 1.0),
+                    percentile(executionMicros, 0.5), percentile(executionMicros, 0.99),
+                    percentile(executionMicros, 0.999), percentile(executionMicros, 1.0));
+            log.info("\n{}", report);
+
+            assertThat(fired).isPositive();
+        } finally {
+            factory.destroy();
+            dataSource.close();
+        }
+    }
+
+    private static Duration duration(String property, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(property, defaultValue));
+    }
+
+    private static long percentile(ConcurrentLinkedQueue<Long> samples, double quantile) {
+        long[] sorted = samples.stream().mapToLong(Long::longValue).toArray();
+        if (sorted.length == 0) {
+            return 0;
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    public static class LoadJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) {
+            long started = System.nanoTime();
+            fireLagMillis.add(context.getFireTime().getTime() - context.getScheduledFireTime().getTime());
+            try {
+                Thread.sleep(workMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            executionMicros.add((System.nanoTime() - started) / 1000);
+        }
+    }
+}
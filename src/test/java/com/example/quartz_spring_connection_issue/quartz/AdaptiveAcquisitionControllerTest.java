@@ -0,0 +1,52 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveAcquisitionControllerTest {
+
+    private final AtomicLong due = new AtomicLong();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final AdaptiveAcquisitionController controller =
+            new AdaptiveAcquisitionController(noLaterThan -> due.get(), 1000, 500, registry, "test");
+
+    @Test
+    void idleSchedulerAcquiresOneTriggerWithConfiguredWindow() {
+        AdaptiveAcquisitionController.Decision decision = controller.decide(8, 0, 0);
+
+        assertThat(decision.maxCount()).isEqualTo(1);
+        assertThat(decision.timeWindow()).isZero();
+    }
+
+    @Test
+    void backlogFillsBatchUpToAvailableThreadsAndWidensWindow() {
+        due.set(4);
+        AdaptiveAcquisitionController.Decision partial = controller.decide(8, 0, 0);
+        assertThat(partial.maxCount()).isEqualTo(4);
+        assertThat(partial.timeWindow()).isEqualTo(500);
+
+        due.set(10_000);
+        AdaptiveAcquisitionController.Decision full = controller.decide(8, 0, 1000);
+        assertThat(full.maxCount()).isEqualTo(8);
+        assertThat(full.timeWindow()).isEqualTo(1000);
+        assertThat(registry.get("quartz.acquisition.batch.size").gauge().value()).isEqualTo(8);
+        assertThat(registry.get("quartz.acquisition.backlog").gauge().value()).isEqualTo(10_000);
+    }
+
+    @Test
+    void acquiredTriggersDrainEstimateBetweenProbes() {
+        due.set(6);
+        assertThat(controller.decide(8, 0, 0).maxCount()).isEqualTo(6);
+        controller.acquired(6);
+
+        // Within the probe interval the stale count is not re-read
+        assertThat(controller.decide(8, 0, 100).maxCount()).isEqualTo(1);
+        assertThat(registry.get("quartz.acquisition.acquired").summary().totalAmount()).isEqualTo(6);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import org.junit.jupiter.api.Test;
+import org.quartz.JobDataMap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactJobDataCodecTest {
+
+    private final CompactJobDataCodec codec = new CompactJobDataCodec();
+
+    @Test
+    void roundTripsCommonTypesAndFallsBackToJavaSerialization() throws Exception {
+        Map<String, Object> nested = new HashMap<>();
+        nested.put("k", List.of("immutable list goes through Java serialization"));
+
+        JobDataMap data = new JobDataMap();
+        data.put("string", "h\u00e9llo");
+        data.put("int", -42);
+        data.put("long", Long.MAX_VALUE);
+        data.put("bool", true);
+        data.put("double", 1.5d);
+        data.put("null", null);
+        data.put("bytes", new byte[]{1, 2, 3});
+        data.put("list", new ArrayList<>(List.of(1, "two", 3L)));
+        data.put("map", nested);
+        data.put("decimal", new BigDecimal("12.34"));
+
+        byte[] encoded = codec.encode(data);
+        assertThat(codec.canDecode(encoded)).isTrue();
+
+        Map<String, Object> decoded = codec.decode(encoded);
+        assertThat(decoded).containsEntry("string", "h\u00e9llo")
+                .containsEntry("int", -42)
+                .containsEntry("long", Long.MAX_VALUE)
+                .containsEntry("bool", true)
+                .containsEntry("double", 1.5d)
+                .containsEntry("null", null)
+                .containsEntry("list", List.of(1, "two", 3L))
+                .containsEntry("map", nested)
+                .containsEntry("decimal", new BigDecimal("12.34"));
+        assertThat((byte[]) decoded.get("bytes")).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void isSmallerThanJavaSerializationAndDoesNotClaimLegacyBlobs() throws Exception {
+        JobDataMap data = new JobDataMap();
+        data.put("tenant", "acme");
+        data.put("attempt", 3);
+
+        ByteArrayOutputStream legacy = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(legacy)) {
+            out.writeObject(data);
+        }
+
+        assertThat(codec.canDecode(legacy.toByteArray())).isFalse();
+        assertThat(codec.encode(data).length).isLessThan(legacy.size() / 5);
+    }
+}
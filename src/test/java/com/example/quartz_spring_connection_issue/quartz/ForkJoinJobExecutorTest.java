@@ -0,0 +1,72 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ForkJoinJobExecutorTest {
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final ForkJoinJobExecutor executor = new ForkJoinJobExecutor(transactionManager, registry, 4);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.close();
+    }
+
+    @Test
+    void runsEachPartitionInItsOwnTransactionOnForkJoinThreads() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        long sum = executor.invoke(0, 1000, 100, true, (from, to) -> {
+            threads.add(Thread.currentThread().getName());
+            return LongStream.range(from, to).sum();
+        }, 0L, Long::sum);
+
+        assertThat(sum).isEqualTo(LongStream.range(0, 1000).sum());
+        assertThat(threads).allSatisfy(name -> assertThat(name).startsWith("job-fork-join-"));
+        verify(transactionManager, times(16)).getTransaction(argThat(definition -> definition.isReadOnly()
+                && definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        assertThat(registry.get("quartz.job.partition").timer().count()).isEqualTo(16);
+    }
+
+    @Test
+    void emptyRangeReturnsIdentityWithoutTransactions() {
+        assertThat(executor.invoke(5, 5, 100, false, (from, to) -> 1L, 0L, Long::sum)).isZero();
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    void partitionFailureFailsTheInvocation() {
+        assertThatThrownBy(() -> executor.invoke(0, 1000, 100, false, (from, to) -> {
+            if (from >= 500) {
+                throw new IllegalStateException("partition " + from);
+            }
+            return 1L;
+        }, 0L, Long::sum)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void rejectsNonPositiveParallelism() {
+        assertThatThrownBy(() -> new ForkJoinJobExecutor(transactionManager, registry, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
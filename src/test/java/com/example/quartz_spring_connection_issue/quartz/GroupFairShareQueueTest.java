@@ -0,0 +1,96 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GroupFairShareQueueTest {
+
+    private static final Runnable NOOP = () -> {
+    };
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void dispatchesInProportionToWeights() {
+        GroupFairShareQueue queue = new GroupFairShareQueue(Map.of(), Map.of("critical", 3), 100, 1, registry, "test");
+        for (int i = 0; i < 8; i++) {
+            queue.enqueue("critical", NOOP, 0);
+            queue.enqueue("bulk", NOOP, 0);
+        }
+
+        List<String> dispatched = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            GroupFairShareQueue.Dispatch dispatch = queue.poll(0);
+            dispatched.add(dispatch.group());
+            queue.completed(dispatch.group());
+        }
+
+        assertThat(dispatched).filteredOn("critical"::equals).hasSize(6);
+        assertThat(dispatched).filteredOn("bulk"::equals).hasSize(2);
+    }
+
+    @Test
+    void holdsBackGroupAtItsLimit() {
+        GroupFairShareQueue queue = new GroupFairShareQueue(Map.of("bulk", 1), Map.of(), 100, 1, registry, "test");
+        queue.enqueue("bulk", NOOP, 0);
+        queue.enqueue("bulk", NOOP, 0);
+        queue.enqueue("critical", NOOP, 0);
+
+        assertThat(queue.poll(0).group()).isEqualTo("bulk");
+        assertThat(queue.poll(0).group()).isEqualTo("critical");
+        assertThat(queue.poll(0)).isNull();
+        assertThat(queue.getQueued("bulk")).isEqualTo(1);
+
+        queue.completed("bulk");
+        assertThat(queue.poll(0).group()).isEqualTo("bulk");
+        assertThat(queue.getRunning("bulk")).isEqualTo(1);
+    }
+
+    @Test
+    void idleGroupDoesNotBankCredit() {
+        GroupFairShareQueue queue = new GroupFairShareQueue(Map.of(), Map.of(), 100, 1, registry, "test");
+        queue.enqueue("quiet", NOOP, 0);
+        queue.completed(queue.poll(0).group());
+        for (int i = 0; i < 10; i++) {
+            queue.enqueue("busy", NOOP, 0);
+            queue.completed(queue.poll(0).group());
+        }
+
+        // Having been idle for nine dispatches, "quiet" gets one dispatch ahead and then alternates with "busy",
+        // instead of running everything it has queued first
+        for (int i = 0; i < 5; i++) {
+            queue.enqueue("quiet", NOOP, 0);
+            queue.enqueue("busy", NOOP, 0);
+        }
+        List<String> dispatched = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            GroupFairShareQueue.Dispatch dispatch = queue.poll(0);
+            dispatched.add(dispatch.group());
+            queue.completed(dispatch.group());
+        }
+        assertThat(dispatched).filteredOn("quiet"::equals).hasSize(4);
+    }
+
+    @Test
+    void recordsQueueDepthAndWaitPerGroup() {
+        GroupFairShareQueue queue = new GroupFairShareQueue(Map.of(), Map.of(), 100, 1, registry, "test");
+        queue.enqueue("bulk", NOOP, 0);
+        queue.enqueue("bulk", NOOP, 0);
+
+        assertThat(registry.get("quartz.group.queue.depth").tag("group", "bulk").gauge().value()).isEqualTo(2);
+
+        GroupFairShareQueue.Dispatch dispatch = queue.poll(TimeUnit.MILLISECONDS.toNanos(40));
+        assertThat(dispatch.waitNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(40));
+        assertThat(registry.get("quartz.group.queue.depth").tag("group", "bulk").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("quartz.group.running").tag("group", "bulk").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("quartz.group.queue.wait").tag("group", "bulk").timer().max(TimeUnit.MILLISECONDS))
+                .isEqualTo(40);
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.SchedulerConfigException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class GroupFairThreadPoolTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final List<String> ran = new CopyOnWriteArrayList<>();
+
+    private GroupFairThreadPool pool;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (pool != null) {
+            pool.shutdown(false);
+        }
+    }
+
+    @Test
+    void saturatedGroupDoesNotKeepOtherGroupsOffFreeWorkers() throws Exception {
+        pool = pool(3, "bulk=2", 100);
+        submit("bulk", "bulk-1");
+        submit("bulk", "bulk-2");
+        submit("bulk", "bulk-3");
+        await().atMost(Duration.ofSeconds(5)).until(() -> ran.size() == 2);
+
+        // bulk-3 is held back by the limit and does not count against the third worker
+        assertThat(CompletableFuture.supplyAsync(pool::blockForAvailableThreads).get(5, TimeUnit.SECONDS))
+                .isEqualTo(1);
+        submit("maintenance", "maintenance-1");
+        await().atMost(Duration.ofSeconds(5)).until(() -> ran.contains("maintenance-1"));
+        assertThat(ran).doesNotContain("bulk-3");
+
+        release.countDown();
+        await().atMost(Duration.ofSeconds(5)).until(() -> ran.contains("bulk-3"));
+    }
+
+    @Test
+    void reportsNoFreeWorkerOnceMaxHeldBackIsReached() throws Exception {
+        pool = pool(2, "bulk=1", 1);
+        assertThat(pool.blockForAvailableThreads()).isEqualTo(2);
+
+        submit("bulk", "bulk-1");
+        submit("bulk", "bulk-2");
+        await().atMost(Duration.ofSeconds(5)).until(() -> ran.contains("bulk-1"));
+
+        CompletableFuture<Integer> available = CompletableFuture.supplyAsync(pool::blockForAvailableThreads);
+        Thread.sleep(200);
+        assertThat(available).isNotDone();
+
+        release.countDown();
+        assertThat(available.get(5, TimeUnit.SECONDS)).isPositive();
+        await().atMost(Duration.ofSeconds(5)).until(() -> ran.contains("bulk-2"));
+    }
+
+    @Test
+    void gracefulShutdownRunsQueuedJobs() throws Exception {
+        // The second job is held back while the only worker runs the first
+        pool = pool(1, "", 100);
+        submit("bulk", "bulk-1");
+        submit("bulk", "bulk-2");
+
+        CompletableFuture<Void> shutdown = CompletableFuture.runAsync(() -> pool.shutdown(true));
+        release.countDown();
+        shutdown.get(5, TimeUnit.SECONDS);
+
+        assertThat(ran).containsExactly("bulk-1", "bulk-2");
+    }
+
+    @Test
+    void immediateShutdownDropsQueuedJobs() throws Exception {
+        // The second job is held back while the only worker runs the first
+        pool = pool(1, "", 100);
+        submit("bulk", "bulk-1");
+        submit("bulk", "bulk-2");
+        await().atMost(Duration.ofSeconds(5)).until(() -> ran.contains("bulk-1"));
+
+        pool.shutdown(false);
+        release.countDown();
+        Thread.sleep(200);
+
+        assertThat(ran).containsExactly("bulk-1");
+    }
+
+    @Test
+    void parsesGroupValues() throws Exception {
+        assertThat(GroupFairThreadPool.parseGroupValues("groupLimits", " critical=3, bulk = 1 "))
+                .isEqualTo(Map.of("critical", 3, "bulk", 1));
+        assertThat(GroupFairThreadPool.parseGroupValues("groupLimits", "")).isEmpty();
+
+        assertThatThrownBy(() -> GroupFairThreadPool.parseGroupValues("groupLimits", "bulk"))
+                .isInstanceOf(SchedulerConfigException.class);
+        assertThatThrownBy(() -> GroupFairThreadPool.parseGroupValues("groupLimits", "bulk=0"))
+                .isInstanceOf(SchedulerConfigException.class);
+        assertThatThrownBy(() -> GroupFairThreadPool.parseGroupValues("groupWeights", "bulk=x"))
+                .isInstanceOf(SchedulerConfigException.class);
+    }
+
+    private GroupFairThreadPool pool(int threads, String limits, int maxHeldBack) throws SchedulerConfigException {
+        GroupFairThreadPool pool = new GroupFairThreadPool();
+        pool.setInstanceName("GroupFairThreadPoolTest-" + System.nanoTime());
+        pool.setThreadCount(threads);
+        pool.setGroupLimits(limits);
+        pool.setMaxHeldBack(maxHeldBack);
+        pool.initialize();
+        return pool;
+    }
+
+    private void submit(String group, String name) {
+        GroupFairThreadPool.announceGroup(group);
+        pool.runInThread(() -> {
+            ran.add(name);
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+}
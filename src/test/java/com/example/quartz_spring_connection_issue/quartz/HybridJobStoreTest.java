@@ -0,0 +1,121 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.Job;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.Scheduler;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.quartz.TriggerKey;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class HybridJobStoreTest {
+
+    private static final TriggerKey TRIGGER = TriggerKey.triggerKey("hybrid", "hybrid");
+
+    private HikariDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private SchedulerFactoryBean factory;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:hybrid-store-" + System.nanoTime() + ";MODE=MySQL");
+        dataSource.setUsername("sa");
+        new ResourceDatabasePopulator(new ClassPathResource("org/quartz/impl/jdbcjobstore/tables_h2.sql"))
+                .execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (factory != null) {
+            factory.destroy();
+        }
+        dataSource.close();
+    }
+
+    @Test
+    void persistsTriggersUpdatedByMisfireHandling() throws Exception {
+        Scheduler scheduler = start();
+        // Ten minutes overdue, so the first acquisition applies the misfire instruction and moves it forward
+        schedule(scheduler, System.currentTimeMillis() - 600_000);
+        await().atMost(Duration.ofSeconds(5)).until(() -> nextFireTime() > 0);
+        long scheduled = nextFireTime();
+
+        scheduler.start();
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> nextFireTime() > System.currentTimeMillis());
+        assertThat(nextFireTime()).isGreaterThan(scheduled);
+    }
+
+    @Test
+    void restoresErroredTriggersOnReload() throws Exception {
+        schedule(start(), System.currentTimeMillis() + 3_600_000);
+        factory.destroy();
+        jdbcTemplate.update("UPDATE QRTZ_TRIGGERS SET TRIGGER_STATE = 'ERROR' WHERE TRIGGER_NAME = ?", TRIGGER.getName());
+
+        Scheduler reloaded = start();
+
+        assertThat(reloaded.getTriggerState(TRIGGER)).isEqualTo(Trigger.TriggerState.ERROR);
+        reloaded.resumeAll();
+        assertThat(reloaded.getTriggerState(TRIGGER)).isEqualTo(Trigger.TriggerState.ERROR);
+    }
+
+    private Scheduler start() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("org.quartz.scheduler.instanceName", "HybridJobStoreTest");
+        properties.setProperty("org.quartz.jobStore.class", HybridJobStore.class.getName());
+        properties.setProperty("org.quartz.jobStore.flushIntervalMillis", "100");
+        properties.setProperty("org.quartz.threadPool.threadCount", "1");
+        factory = new SchedulerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setQuartzProperties(properties);
+        factory.setAutoStartup(false);
+        factory.afterPropertiesSet();
+        return factory.getScheduler();
+    }
+
+    private void schedule(Scheduler scheduler, long startTime) throws Exception {
+        JobDetail job = JobBuilder.newJob(NoopJob.class).withIdentity("hybrid", "hybrid").build();
+        Trigger trigger = TriggerBuilder.newTrigger()
+                .withIdentity(TRIGGER)
+                .startAt(new Date(startTime))
+                .withSchedule(SimpleScheduleBuilder.simpleSchedule()
+                        .withIntervalInHours(1)
+                        .repeatForever()
+                        .withMisfireHandlingInstructionNextWithRemainingCount())
+                .build();
+        scheduler.scheduleJob(job, trigger);
+    }
+
+    private long nextFireTime() {
+        return jdbcTemplate.queryForList("SELECT NEXT_FIRE_TIME FROM QRTZ_TRIGGERS WHERE TRIGGER_NAME = ?",
+                Long.class, TRIGGER.getName()).stream().findFirst().orElse(0L);
+    }
+
+    public static class NoopJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) {
+        }
+    }
+}
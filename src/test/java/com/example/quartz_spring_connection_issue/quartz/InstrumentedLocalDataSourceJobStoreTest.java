@@ -0,0 +1,104 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.Job;
+import org.quartz.JobBuilder;
+import org.quartz.JobExecutionContext;
+import org.quartz.Scheduler;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.TriggerBuilder;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class InstrumentedLocalDataSourceJobStoreTest {
+
+    private static final int TRIGGERS = 5;
+
+    private static final int REPEAT_COUNT = 2;
+
+    private static final Map<String, AtomicInteger> FIRES = new ConcurrentHashMap<>();
+
+    private HikariDataSource dataSource;
+
+    private SchedulerFactoryBean factory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        FIRES.clear();
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:instrumented-store-" + System.nanoTime() + ";MODE=MySQL");
+        dataSource.setUsername("sa");
+        new ResourceDatabasePopulator(new ClassPathResource("org/quartz/impl/jdbcjobstore/tables_h2.sql"))
+                .execute(dataSource);
+
+        Properties properties = new Properties();
+        properties.setProperty("org.quartz.scheduler.instanceName", "InstrumentedLocalDataSourceJobStoreTest");
+        properties.setProperty("org.quartz.jobStore.class", InstrumentedLocalDataSourceJobStore.class.getName());
+        properties.setProperty("org.quartz.jobStore.driverDelegateClass", "org.quartz.impl.jdbcjobstore.HSQLDBDelegate");
+        properties.setProperty("org.quartz.jobStore.misfireThreshold", "1000");
+        properties.setProperty("org.quartz.jobStore.misfireReplayPerSecond", "1");
+        properties.setProperty("org.quartz.threadPool.threadCount", String.valueOf(TRIGGERS));
+        factory = new SchedulerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setQuartzProperties(properties);
+        factory.setAutoStartup(false);
+        factory.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        factory.destroy();
+        dataSource.close();
+    }
+
+    @Test
+    void pacedSimpleTriggersKeepTheirRepeatCount() throws Exception {
+        Scheduler scheduler = factory.getScheduler();
+        // Due a minute ago, so startup recovery misfires them; at 1/s the last one is paced four seconds out,
+        // longer than its repeat interval
+        long start = System.currentTimeMillis() - 60_000;
+        for (int i = 0; i < TRIGGERS; i++) {
+            String name = "misfired-" + i;
+            scheduler.scheduleJob(
+                    JobBuilder.newJob(CountingJob.class).withIdentity(name, "misfired").build(),
+                    TriggerBuilder.newTrigger()
+                            .withIdentity(name, "misfired")
+                            .startAt(new Date(start))
+                            .withSchedule(SimpleScheduleBuilder.simpleSchedule()
+                                    .withIntervalInSeconds(1)
+                                    .withRepeatCount(REPEAT_COUNT))
+                            .build());
+        }
+
+        scheduler.start();
+
+        // Each job is deleted with its trigger after the last repeat
+        await().atMost(Duration.ofSeconds(20))
+                .until(() -> scheduler.getJobKeys(GroupMatcher.jobGroupEquals("misfired")).isEmpty());
+        assertThat(FIRES).hasSize(TRIGGERS);
+        assertThat(FIRES.values()).allSatisfy(fires -> assertThat(fires.get()).isEqualTo(REPEAT_COUNT + 1));
+    }
+
+    public static class CountingJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) {
+            FIRES.computeIfAbsent(context.getJobDetail().getKey().getName(), name -> new AtomicInteger()).incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class JobStoreConnectionMonitorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final JobStoreConnectionMonitor monitor =
+            new JobStoreConnectionMonitor(registry, "TestScheduler", Duration.ofMillis(50));
+
+    @Test
+    void countsConnectionsPerOperationAndRecordsHoldTime() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        Connection first = mock(Connection.class);
+        Connection second = mock(Connection.class);
+
+        JobStoreConnectionMonitor.Operation operation = monitor.beginOperation("nonManaged", "TRIGGER_ACCESS");
+        monitor.acquire("springNonTxDataSource", dataSource, () -> first);
+        monitor.acquire("springTxDataSource", dataSource, () -> second);
+        assertThat(registry.get("quartz.connection.checked.out").gauge().value()).isEqualTo(2);
+
+        monitor.release(first);
+        monitor.release(second);
+        monitor.endOperation(operation);
+
+        assertThat(registry.get("quartz.jobstore.operation.connections").tag("lock", "TRIGGER_ACCESS")
+                .summary().totalAmount()).isEqualTo(2);
+        assertThat(registry.get("quartz.connection.acquire").timers()).hasSize(2);
+        assertThat(registry.get("quartz.connection.hold").tag("provider", "springTxDataSource").timer().count()).isEqualTo(1);
+        assertThat(registry.get("quartz.connection.checked.out").gauge().value()).isZero();
+    }
+
+    @Test
+    void flagsConnectionsHeldPastThreshold() throws Exception {
+        monitor.acquire("springTxDataSource", mock(DataSource.class), () -> mock(Connection.class));
+
+        Thread.sleep(100);
+        monitor.checkHeldConnections();
+        monitor.checkHeldConnections();
+
+        assertThat(registry.get("quartz.connection.held.too.long").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void flagsProviderPointingAtClosedDataSource() throws Exception {
+        HikariDataSource closed = new HikariDataSource();
+        closed.close();
+
+        monitor.acquire("springNonTxDataSource", closed, () -> mock(Connection.class));
+
+        assertThat(monitor.isProviderClosed("springNonTxDataSource")).isTrue();
+        assertThat(registry.get("quartz.connection.provider.closed").gauge().value()).isEqualTo(1);
+    }
+}
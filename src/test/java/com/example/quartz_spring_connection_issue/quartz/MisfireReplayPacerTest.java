@@ -0,0 +1,34 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MisfireReplayPacerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final MisfireReplayPacer pacer = new MisfireReplayPacer(10, registry, "test");
+
+    @Test
+    void slotsAreSpacedByRateAndCarryOverBetweenBatches() {
+        assertThat(pacer.nextSlot(1_000)).isEqualTo(1_000);
+        assertThat(pacer.nextSlot(1_000)).isEqualTo(1_100);
+        assertThat(pacer.nextSlot(1_000)).isEqualTo(1_200);
+
+        // A later batch continues after the last slot instead of starting again at "now"
+        assertThat(pacer.nextSlot(1_050)).isEqualTo(1_300);
+        assertThat(pacer.pending(1_050)).isEqualTo(4);
+        assertThat(registry.get("quartz.misfire.paced").counter().count()).isEqualTo(4);
+    }
+
+    @Test
+    void idlePacerStartsAtNow() {
+        pacer.nextSlot(1_000);
+
+        assertThat(pacer.nextSlot(60_000)).isEqualTo(60_000);
+        assertThat(pacer.pending(60_000)).isEqualTo(1);
+        assertThat(pacer.delayMillis(70_000)).isZero();
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.quartz.Job;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.Scheduler;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Runs PartitionedJobStore nodes against a shared file-based H2 database. The wall-clock comparison of one and
+ * three nodes is tagged {@code load} and only runs with {@code ./gradlew loadTest}.
+ */
+class PartitionedClusterTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionedClusterTest.class);
+
+    private static final int JOBS = 300;
+
+    private static final Map<String, AtomicInteger> executions = new ConcurrentHashMap<>();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void threeNodesFireEveryJobExactlyOnce() throws Exception {
+        drainBacklog(3);
+    }
+
+    @Test
+    @Tag("load")
+    void throughputScalesWithNodes() throws Exception {
+        double singleNode = drainBacklog(1);
+        double threeNodes = drainBacklog(3);
+
+        log.info("Partitioned cluster throughput: 1 node {} jobs/s, 3 nodes {} jobs/s",
+                String.format("%.1f", singleNode), String.format("%.1f", threeNodes));
+        assertThat(threeNodes).isGreaterThan(singleNode * 1.5);
+    }
+
+    private double drainBacklog(int nodes) throws Exception {
+        executions.clear();
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:file:" + tempDir.resolve("cluster-" + nodes).toAbsolutePath()
+                + ";MODE=MySQL;LOCK_TIMEOUT=10000");
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(30);
+
+        List<SchedulerFactoryBean> factories = new ArrayList<>();
+        try {
+            new ResourceDatabasePopulator(new ClassPathResource("org/quartz/impl/jdbcjobstore/tables_h2.sql"))
+                    .execute(dataSource);
+
+            for (int i = 0; i < nodes; i++) {
+                factories.add(startNode(dataSource, "node-" + i));
+            }
+            Scheduler scheduler = factories.get(0).getScheduler();
+
+            Map<JobDetail, Set<? extends Trigger>> jobs = new LinkedHashMap<>();
+            for (int i = 0; i < JOBS; i++) {
+                JobDetail job = JobBuilder.newJob(SlowJob.class).withIdentity("job-" + i, "cluster").build();
+                jobs.put(job, Set.of(TriggerBuilder.newTrigger().withIdentity("trigger-" + i, "cluster").startNow().build()));
+            }
+
+            long start = System.nanoTime();
+            scheduler.scheduleJobs(jobs, false);
+            for (SchedulerFactoryBean factory : factories) {
+                factory.getScheduler().start();
+            }
+            await().atMost(Duration.ofSeconds(60)).until(() -> executions.size() == JOBS);
+            double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            assertThat(executions.values()).allSatisfy(count -> assertThat(count.get()).isEqualTo(1));
+            return JOBS / elapsedSeconds;
+        } finally {
+            for (SchedulerFactoryBean factory : factories) {
+                factory.destroy();
+            }
+            dataSource.close();
+        }
+    }
+
+    private SchedulerFactoryBean startNode(HikariDataSource dataSource, String instanceId) throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("org.quartz.scheduler.instanceName", "PartitionedCluster");
+        properties.setProperty("org.quartz.scheduler.instanceId", instanceId);
+        properties.setProperty("org.quartz.scheduler.batchTriggerAcquisitionMaxCount", "4");
+        properties.setProperty("org.quartz.jobStore.class", PartitionedJobStore.class.getName());
+        properties.setProperty("org.quartz.jobStore.driverDelegateClass", PartitionedJDBCDelegate.class.getName());
+        properties.setProperty("org.quartz.jobStore.isClustered", "true");
+        properties.setProperty("org.quartz.jobStore.clusterCheckinInterval", "500");
+        properties.setProperty("org.quartz.jobStore.partitionCount", "12");
+        properties.setProperty("org.quartz.threadPool.class", "org.quartz.simpl.SimpleThreadPool");
+        properties.setProperty("org.quartz.threadPool.threadCount", "4");
+
+        SchedulerFactoryBean factory = new SchedulerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setQuartzProperties(properties);
+        factory.setAutoStartup(false);
+        factory.afterPropertiesSet();
+        return factory;
+    }
+
+    public static class SlowJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) {
+            executions.computeIfAbsent(context.getJobDetail().getKey().getName(), k -> new AtomicInteger())
+                    .incrementAndGet();
+            try {
+                Thread.sleep(40);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
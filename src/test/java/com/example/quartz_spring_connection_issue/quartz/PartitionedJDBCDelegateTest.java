@@ -0,0 +1,114 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.Job;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.quartz.TriggerKey;
+import org.quartz.simpl.SimpleClassLoadHelper;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+
+import java.sql.Connection;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PartitionedJDBCDelegateTest {
+
+    private static final String SCHEDULER_NAME = "PartitionedDelegate";
+
+    private static final int PARTITIONS = 4;
+
+    private static final int OWN_PARTITION = 3;
+
+    private HikariDataSource dataSource;
+
+    private SchedulerFactoryBean factory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:partitioned-delegate-" + System.nanoTime() + ";MODE=MySQL");
+        dataSource.setUsername("sa");
+        new ResourceDatabasePopulator(new ClassPathResource("org/quartz/impl/jdbcjobstore/tables_h2.sql"))
+                .execute(dataSource);
+
+        Properties properties = new Properties();
+        properties.setProperty("org.quartz.scheduler.instanceName", SCHEDULER_NAME);
+        properties.setProperty("org.quartz.jobStore.driverDelegateClass", PartitionedJDBCDelegate.class.getName());
+        properties.setProperty("org.quartz.threadPool.threadCount", "1");
+        factory = new SchedulerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setQuartzProperties(properties);
+        factory.setAutoStartup(false);
+        factory.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        factory.destroy();
+        dataSource.close();
+    }
+
+    @Test
+    void findsOwnTriggersBehindManyDueTriggersOfOtherPartitions() throws Exception {
+        Scheduler scheduler = factory.getScheduler();
+        long now = System.currentTimeMillis();
+        // Thirty earlier triggers of other partitions, then one of ours
+        int others = 0;
+        String own = null;
+        for (int i = 0; others < 30 || own == null; i++) {
+            String name = "job-" + i;
+            boolean ours = TriggerPartitions.partitionOf(JobKey.jobKey(name, "partitioned"), PARTITIONS) == OWN_PARTITION;
+            if (ours && own == null) {
+                own = name;
+                schedule(scheduler, name, now - 1_000);
+            } else if (!ours && others < 30) {
+                others++;
+                schedule(scheduler, name, now - 60_000 + others);
+            }
+        }
+
+        PartitionedJDBCDelegate delegate = new PartitionedJDBCDelegate();
+        delegate.initialize(LoggerFactory.getLogger(PartitionedJDBCDelegateTest.class), "QRTZ_", SCHEDULER_NAME,
+                "NON_CLUSTERED", new SimpleClassLoadHelper(), false, null);
+        delegate.setPartitionCount(PARTITIONS);
+
+        int[] previous = TriggerPartitions.enter(new int[]{OWN_PARTITION});
+        try (Connection conn = dataSource.getConnection()) {
+            List<TriggerKey> acquired = delegate.selectTriggerToAcquire(conn, now + 60_000, 0, 1);
+            assertThat(acquired).containsExactly(TriggerKey.triggerKey(own, "partitioned"));
+        } finally {
+            TriggerPartitions.exit(previous);
+        }
+    }
+
+    private void schedule(Scheduler scheduler, String name, long fireTime) throws Exception {
+        JobDetail job = JobBuilder.newJob(NoopJob.class).withIdentity(name, "partitioned").build();
+        Trigger trigger = TriggerBuilder.newTrigger()
+                .withIdentity(name, "partitioned")
+                .startAt(new Date(fireTime))
+                .build();
+        scheduler.scheduleJob(job, trigger);
+    }
+
+    public static class NoopJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) {
+        }
+    }
+}
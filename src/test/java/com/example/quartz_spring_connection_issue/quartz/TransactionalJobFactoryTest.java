@@ -0,0 +1,49 @@
+package com.example.quartz_spring_connection_issue.quartz;
+
+import org.junit.jupiter.api.Test;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TransactionalJobFactoryTest {
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private final TransactionStatus status = mock(TransactionStatus.class);
+
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+    @Test
+    void successfulExecutionCommitsOneTransaction() throws Exception {
+        when(transactionManager.getTransaction(any())).thenReturn(status);
+
+        new TransactionalJobFactory.TransactionalJob(context -> { }, transactionTemplate)
+                .execute(mock(JobExecutionContext.class));
+
+        verify(transactionManager).commit(status);
+        verify(transactionManager, never()).rollback(any());
+    }
+
+    @Test
+    void failedExecutionRollsBackAndRethrowsJobException() {
+        when(transactionManager.getTransaction(any())).thenReturn(status);
+        JobExecutionException failure = new JobExecutionException("boom");
+
+        TransactionalJobFactory.TransactionalJob job = new TransactionalJobFactory.TransactionalJob(context -> {
+            throw failure;
+        }, transactionTemplate);
+
+        assertThatThrownBy(() -> job.execute(mock(JobExecutionContext.class))).isSameAs(failure);
+        verify(transactionManager).rollback(status);
+        verify(transactionManager, never()).commit(any());
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.quartz_spring_connection_issue.repository;
+
+import com.example.quartz_spring_connection_issue.entity.TestData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against an in-memory H2 database with the {@code test_data} table and sequence Hibernate generates.
+ */
+class TestDataJdbcRepositoryTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TestDataJdbcRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:jdbc-write-path-" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE SEQUENCE test_data_seq START WITH 1 INCREMENT BY 50");
+        jdbcTemplate.execute("CREATE TABLE test_data (id BIGINT PRIMARY KEY, name VARCHAR(255), data_value VARCHAR(255),"
+                + " created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL, time_bucket BIGINT NOT NULL)");
+        repository = new TestDataJdbcRepository(jdbcTemplate);
+    }
+
+    @Test
+    void reservesIdBlocksThatDoNotOverlapHibernates() {
+        // Hibernate's pooled optimizer took 1 and 51 and hands out ids 1..51
+        jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR test_data_seq", Long.class);
+        jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR test_data_seq", Long.class);
+
+        List<TestData> rows = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            rows.add(row("jdbc-" + i));
+        }
+        repository.insertAll(rows);
+
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM test_data ORDER BY id", Long.class))
+                .containsExactlyElementsOf(LongStream.rangeClosed(52, 111).boxed().toList());
+        // The next value Hibernate draws (201) reserves 152..201, past the JDBC block ending at 151
+        assertThat(jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR test_data_seq", Long.class)).isEqualTo(201);
+    }
+
+    @Test
+    void skipsTheInitialSequenceValue() {
+        repository.insertAll(List.of(row("first")));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT id FROM test_data", Long.class)).isEqualTo(2);
+    }
+
+    @Test
+    void fillsInCreationTimeAndBucket() {
+        Instant createdAt = Instant.parse("2026-01-02T10:30:00Z");
+        TestData explicit = row("explicit");
+        explicit.setCreatedAt(createdAt);
+        TestData implicit = row("implicit");
+
+        repository.insertAll(List.of(explicit, implicit));
+
+        assertThat(implicit.getCreatedAt()).isNotNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT time_bucket FROM test_data WHERE name = 'explicit'", Long.class))
+                .isEqualTo(TestData.bucketOf(createdAt));
+        assertThat(jdbcTemplate.queryForObject("SELECT created_at FROM test_data WHERE name = 'explicit'", Instant.class))
+                .isEqualTo(createdAt);
+    }
+
+    private TestData row(String name) {
+        TestData data = new TestData();
+        data.setName(name);
+        data.setValue("value");
+        return data;
+    }
+}
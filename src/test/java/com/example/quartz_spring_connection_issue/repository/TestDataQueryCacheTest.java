@@ -0,0 +1,77 @@
+package com.example.quartz_spring_connection_issue.repository;
+
+import com.example.quartz_spring_connection_issue.entity.TestData;
+import com.example.quartz_spring_connection_issue.service.TestDataWritePath;
+import com.example.quartz_spring_connection_issue.service.TestService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs with the shipped configuration, which enables the second-level and query cache, and checks that writes
+ * bypassing the entity session do not leave stale cached keyset pages behind.
+ */
+@SpringBootTest(properties = {"spring.config.location=file:src/main/resources/",
+        "spring.datasource.url=jdbc:h2:mem:query-cache;MODE=MySQL"})
+@DirtiesContext
+class TestDataQueryCacheTest {
+
+    @Autowired
+    private TestDataRepository testDataRepository;
+
+    @Autowired
+    private TestService testService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void bulkDeleteAndJdbcInsertInvalidateCachedPages() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<TestData> saved = transactionTemplate.execute(status ->
+                testDataRepository.saveAll(List.of(row("cached-1"), row("cached-2"))));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        assertThat(firstPage()).extracting(TestData::getName).containsExactly("cached-1", "cached-2");
+        long hits = statistics.getQueryCacheHitCount();
+        assertThat(firstPage()).hasSize(2);
+        assertThat(statistics.getQueryCacheHitCount()).isGreaterThan(hits);
+
+        // Retention's JPQL bulk delete
+        transactionTemplate.executeWithoutResult(status -> saved.stream()
+                .map(TestData::getTimeBucket)
+                .distinct()
+                .forEach(testDataRepository::deleteBucket));
+        assertThat(firstPage()).isEmpty();
+
+        // Cache the empty page, then insert through the JDBC write path
+        assertThat(firstPage()).isEmpty();
+        testService.saveData("jdbc-row", "value", TestDataWritePath.JDBC);
+        assertThat(firstPage()).extracting(TestData::getName).containsExactly("jdbc-row");
+    }
+
+    private List<TestData> firstPage() {
+        return testDataRepository.findByIdGreaterThanOrderByIdAsc(0, Limit.of(100));
+    }
+
+    private static TestData row(String name) {
+        TestData data = new TestData();
+        data.setName(name);
+        data.setValue("value");
+        return data;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.quartz_spring_connection_issue.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class ScheduleIngestionQueueTest {
+
+    private final SchedulerService schedulerService = mock(SchedulerService.class);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void queuedRequestsAreScheduledInBatches() throws Exception {
+        ScheduleIngestionQueue queue = new ScheduleIngestionQueue(schedulerService, registry, 100, 10);
+
+        List<String> trackingIds = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            trackingIds.add(queue.submit().orElseThrow());
+        }
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> trackingIds.stream()
+                .allMatch(id -> queue.getStatus(id).equals(Optional.of(ScheduleIngestionQueue.Status.SCHEDULED))));
+        queue.close();
+    }
+
+    @Test
+    void fullQueueRejectsRequests() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(schedulerService).scheduleTestJobs(anyList());
+
+        ScheduleIngestionQueue queue = new ScheduleIngestionQueue(schedulerService, registry, 2, 10);
+
+        // The worker takes the first request and blocks in the store, the next two fill the queue
+        assertThat(queue.submit()).isPresent();
+        await().atMost(Duration.ofSeconds(5)).until(() -> queue.getQueuedCount() == 0);
+        assertThat(queue.submit()).isPresent();
+        assertThat(queue.submit()).isPresent();
+        assertThat(queue.submit()).isEmpty();
+        assertThat(registry.get("scheduler.ingestion.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        queue.close();
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.quartz_spring_connection_issue.service;
+
+import org.junit.jupiter.api.Test;
+import org.quartz.JobDetail;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.Trigger;
+import org.quartz.impl.matchers.GroupMatcher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SchedulerServiceTest {
+
+    private final Scheduler scheduler = mock(Scheduler.class);
+
+    private final GroupMatcher<JobKey> testGroup = GroupMatcher.jobGroupEquals("testGroup");
+
+    @Test
+    void schedulesTestJobsInBatches() throws Exception {
+        SchedulerService service = new SchedulerService(scheduler, 2, 100_000, 500, Duration.ZERO);
+
+        // The service reuses its chunk map after each call, so record the sizes as they are handed over
+        List<Integer> chunkSizes = new ArrayList<>();
+        doAnswer(invocation -> {
+            Map<JobDetail, Set<? extends Trigger>> chunk = invocation.getArgument(0);
+            chunkSizes.add(chunk.size());
+            return null;
+        }).when(scheduler).scheduleJobs(anyMap(), eq(false));
+
+        BatchScheduleResult result = service.scheduleTestJobs(5);
+
+        assertThat(chunkSizes).containsExactly(2, 2, 1);
+        assertThat(result.scheduled()).isEqualTo(5);
+    }
+
+    @Test
+    void rejectsBatchCountsOutOfRange() throws Exception {
+        SchedulerService service = new SchedulerService(scheduler, 500, 1_000, 500, Duration.ZERO);
+
+        assertThatThrownBy(() -> service.scheduleTestJobs(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.scheduleTestJobs(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.scheduleTestJobs(1_001)).isInstanceOf(IllegalArgumentException.class);
+        verify(scheduler, never()).scheduleJobs(anyMap(), anyBoolean());
+    }
+
+    @Test
+    void rejectsNonPositiveClearChunkSize() {
+        assertThatThrownBy(() -> new SchedulerService(scheduler, 500, 100_000, 0, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SchedulerService(scheduler, 500, 100_000, -1, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void clearsInChunksAndReportsProgress() throws Exception {
+        SchedulerService service = new SchedulerService(scheduler, 500, 100_000, 2, Duration.ZERO);
+        when(scheduler.getJobKeys(any())).thenReturn(jobKeys(5));
+
+        List<Integer> chunkSizes = new ArrayList<>();
+        List<List<ClearJobsProgress>> progressSeen = new ArrayList<>();
+        doAnswer(invocation -> {
+            chunkSizes.add(invocation.<List<JobKey>>getArgument(0).size());
+            progressSeen.add(service.getClearProgress());
+            return true;
+        }).when(scheduler).deleteJobs(anyList());
+
+        ClearJobsProgress result = service.clearJobs(testGroup);
+
+        assertThat(chunkSizes).containsExactly(2, 2, 1);
+        assertThat(progressSeen).extracting(progress -> progress.get(0).deleted()).containsExactly(0, 2, 4);
+        assertThat(progressSeen).allSatisfy(progress -> assertThat(progress).singleElement()
+                .satisfies(p -> assertThat(p.total()).isEqualTo(5)));
+        assertThat(result.deleted()).isEqualTo(5);
+        assertThat(service.getClearProgress()).isEmpty();
+    }
+
+    @Test
+    void concurrentClearsOfTheSameScopeKeepTheirOwnProgress() throws Exception {
+        SchedulerService service = new SchedulerService(scheduler, 500, 100_000, 1, Duration.ZERO);
+        when(scheduler.getJobKeys(any())).thenReturn(jobKeys(2));
+
+        // The first chunk of the first clear starts a second clear of the same group before returning
+        AtomicBoolean nested = new AtomicBoolean();
+        List<List<ClearJobsProgress>> progressSeen = new ArrayList<>();
+        doAnswer(invocation -> {
+            progressSeen.add(service.getClearProgress());
+            if (nested.compareAndSet(false, true)) {
+                service.clearJobs(testGroup);
+            }
+            return true;
+        }).when(scheduler).deleteJobs(anyList());
+
+        service.clearJobs(testGroup);
+
+        List<ClearJobsProgress> duringBoth = progressSeen.get(1);
+        assertThat(duringBoth).hasSize(2);
+        assertThat(duringBoth).extracting(ClearJobsProgress::scope).containsOnly("EQUALS testGroup");
+        assertThat(duringBoth).extracting(ClearJobsProgress::id).doesNotHaveDuplicates();
+        assertThat(service.getClearProgress()).isEmpty();
+    }
+
+    private static Set<JobKey> jobKeys(int count) {
+        Set<JobKey> keys = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            keys.add(JobKey.jobKey("testJob-" + i, "testGroup"));
+        }
+        return keys;
+    }
+}
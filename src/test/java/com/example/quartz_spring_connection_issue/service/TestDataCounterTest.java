@@ -0,0 +1,97 @@
+package com.example.quartz_spring_connection_issue.service;
+
+import com.example.quartz_spring_connection_issue.entity.TestData;
+import com.example.quartz_spring_connection_issue.repository.TestDataRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against an in-memory H2 database with the schema Hibernate generates; the scheduler stays stopped so no
+ * job touches the count meanwhile.
+ */
+@SpringBootTest(properties = {"spring.config.location=file:src/main/resources/",
+        "spring.datasource.url=jdbc:h2:mem:test-data-counter;MODE=MySQL",
+        "spring.quartz.auto-startup=false"})
+@DirtiesContext
+class TestDataCounterTest {
+
+    @Autowired
+    private TestDataCounter testDataCounter;
+
+    @Autowired
+    private TestDataRepository testDataRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        testDataCounter.recount();
+    }
+
+    @Test
+    void sumsIncrementsFromAllStripes() throws Exception {
+        long before = testDataCounter.count();
+
+        transactionTemplate.executeWithoutResult(status -> testDataCounter.increment(5));
+        // Another thread usually lands on another stripe
+        Thread other = new Thread(() -> transactionTemplate.executeWithoutResult(status -> testDataCounter.increment(3)));
+        other.start();
+        other.join();
+
+        assertThat(testDataCounter.count()).isEqualTo(before + 8);
+    }
+
+    @Test
+    void appliesNegativeIncrements() {
+        long before = testDataCounter.count();
+
+        // Retention subtracts the rows it deletes
+        transactionTemplate.executeWithoutResult(status -> testDataCounter.increment(10));
+        transactionTemplate.executeWithoutResult(status -> testDataCounter.increment(-4));
+
+        assertThat(testDataCounter.count()).isEqualTo(before + 6);
+    }
+
+    @Test
+    void rolledBackIncrementIsNotCounted() {
+        long before = testDataCounter.count();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            testDataCounter.increment(7);
+            status.setRollbackOnly();
+        });
+
+        assertThat(testDataCounter.count()).isEqualTo(before);
+    }
+
+    @Test
+    void recountReplacesDriftWithExactCount() {
+        transactionTemplate.executeWithoutResult(status -> testDataRepository.saveAll(List.of(row("a"), row("b"))));
+        transactionTemplate.executeWithoutResult(status -> testDataCounter.increment(-1_000));
+
+        long exact = testDataCounter.recount();
+
+        assertThat(exact).isEqualTo(testDataRepository.count());
+        assertThat(testDataCounter.count()).isEqualTo(exact);
+    }
+
+    private static TestData row(String name) {
+        TestData data = new TestData();
+        data.setName(name);
+        data.setValue("value");
+        return data;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.quartz_spring_connection_issue.service;
+
+import com.example.quartz_spring_connection_issue.entity.TestData;
+import com.example.quartz_spring_connection_issue.repository.TestDataRepository;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TestDataExportServiceTest {
+
+    private final TestDataRepository repository = mock(TestDataRepository.class);
+
+    private final EntityManager entityManager = mock(EntityManager.class);
+
+    @Test
+    void writesOneJsonObjectPerLineAndDetachesEachRow() throws Exception {
+        when(repository.streamAll()).thenReturn(Stream.of(data(1L, "job_data", "a"), data(2L, "job_data", "b")));
+        TestDataExportService service = new TestDataExportService(repository, entityManager,
+                JsonMapper.builder().findAndAddModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = service.exportNdjson(out);
+
+        assertThat(exported).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8).lines())
+                .containsExactly(
+                        "{\"id\":1,\"name\":\"job_data\",\"value\":\"a\",\"createdAt\":\"2026-01-01T00:00:00Z\",\"timeBucket\":null}",
+                        "{\"id\":2,\"name\":\"job_data\",\"value\":\"b\",\"createdAt\":\"2026-01-01T00:00:00Z\",\"timeBucket\":null}");
+        verify(entityManager, times(2)).detach(any(TestData.class));
+    }
+
+    private static TestData data(Long id, String name, String value) {
+        TestData data = new TestData();
+        data.setId(id);
+        data.setName(name);
+        data.setValue(value);
+        data.setCreatedAt(Instant.parse("2026-01-01T00:00:00Z"));
+        return data;
+    }
+}
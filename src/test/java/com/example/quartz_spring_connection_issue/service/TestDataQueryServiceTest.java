@@ -0,0 +1,61 @@
+package com.example.quartz_spring_connection_issue.service;
+
+import com.example.quartz_spring_connection_issue.entity.TestData;
+import com.example.quartz_spring_connection_issue.repository.TestDataRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TestDataQueryServiceTest {
+
+    private final TestDataRepository repository = mock(TestDataRepository.class);
+
+    private final TestDataQueryService service = new TestDataQueryService(repository);
+
+    @Test
+    void nextCursorSeeksFromLastRowOfPage() {
+        when(repository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, Limit.of(3)))
+                .thenReturn(List.of(data(1L, "a"), data(2L, "b"), data(3L, "c")));
+        when(repository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(3)))
+                .thenReturn(List.of(data(3L, "c")));
+
+        TestDataPage first = service.page(TestDataQueryService.SortKey.ID, null, 2);
+        assertThat(first.items()).extracting(TestData::getId).containsExactly(1L, 2L);
+        assertThat(first.nextCursor()).isNotNull();
+
+        TestDataPage last = service.page(TestDataQueryService.SortKey.ID, first.nextCursor(), 2);
+        assertThat(last.items()).extracting(TestData::getId).containsExactly(3L);
+        assertThat(last.nextCursor()).isNull();
+    }
+
+    @Test
+    void nameCursorKeepsNamesContainingSeparator() {
+        String cursor = TestDataQueryService.encode(TestDataQueryService.SortKey.NAME, data(42L, "job:data"));
+
+        assertThat(TestDataQueryService.decode(cursor, TestDataQueryService.SortKey.NAME))
+                .containsExactly("42", "job:data");
+    }
+
+    @Test
+    void rejectsCursorFromOtherSortOrGarbage() {
+        String idCursor = TestDataQueryService.encode(TestDataQueryService.SortKey.ID, data(1L, "a"));
+
+        assertThatThrownBy(() -> service.page(TestDataQueryService.SortKey.NAME, idCursor, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.page(TestDataQueryService.SortKey.ID, "not a cursor!", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static TestData data(Long id, String name) {
+        TestData data = new TestData();
+        data.setId(id);
+        data.setName(name);
+        return data;
+    }
+}
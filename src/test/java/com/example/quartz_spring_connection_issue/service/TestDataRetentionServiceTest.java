@@ -0,0 +1,39 @@
+package com.example.quartz_spring_connection_issue.service;
+
+import com.example.quartz_spring_connection_issue.entity.TestData;
+import com.example.quartz_spring_connection_issue.repository.TestDataRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TestDataRetentionServiceTest {
+
+    private final TestDataRepository repository = mock(TestDataRepository.class);
+
+    private final TestDataCounter counter = mock(TestDataCounter.class);
+
+    @Test
+    void purgesOnlyBucketsEntirelyOlderThanMaxAge() {
+        Instant now = Instant.parse("2026-01-02T10:30:00Z");
+        // 24h before now is 2026-01-01T10:30, inside the 10:00 bucket, so that bucket is kept
+        long firstLive = TestData.bucketOf(Instant.parse("2026-01-01T10:00:00Z"));
+        when(repository.findBucketsBefore(firstLive)).thenReturn(List.of(firstLive - 2, firstLive - 1));
+        when(repository.deleteBucket(firstLive - 2)).thenReturn(40);
+        when(repository.deleteBucket(firstLive - 1)).thenReturn(60);
+
+        TestDataRetentionService service = new TestDataRetentionService(
+                repository, counter, mock(PlatformTransactionManager.class), Duration.ofHours(24));
+
+        assertThat(service.purgeExpired(now)).isEqualTo(100);
+        verify(counter).increment(-40);
+        verify(counter).increment(-60);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.quartz_spring_connection_issue.service;
+
+import com.example.quartz_spring_connection_issue.entity.TestData;
+import com.example.quartz_spring_connection_issue.repository.TestDataRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TestDataWriteBehindBufferTest {
+
+    private final TestDataRepository repository = mock(TestDataRepository.class);
+
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+    @Test
+    void flushesFullBatchesAndRemainderOnShutdown() throws Exception {
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<TestData> batch = invocation.getArgument(0);
+            batchSizes.add(batch.size());
+            return batch;
+        });
+
+        TestDataWriteBehindBuffer buffer = new TestDataWriteBehindBuffer(
+                repository, mock(TestDataCounter.class), mock(PlatformTransactionManager.class), true, 10, Duration.ofHours(1), 10_000, 3);
+
+        for (int i = 0; i < 25; i++) {
+            buffer.add("job_data", "value" + i);
+        }
+
+        // The size threshold triggers a flush long before the one-hour interval
+        await().atMost(Duration.ofSeconds(5)).until(() -> written() >= 10);
+
+        buffer.close();
+
+        assertThat(written()).isEqualTo(25);
+        assertThat(batchSizes).allSatisfy(size -> assertThat(size).isLessThanOrEqualTo(10));
+        assertThat(buffer.getBufferedCount()).isZero();
+    }
+
+    private int written() {
+        return batchSizes.stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Test
+    void disabledBufferDoesNotStartFlusher() throws Exception {
+        TestDataWriteBehindBuffer buffer = new TestDataWriteBehindBuffer(
+                repository, mock(TestDataCounter.class), mock(PlatformTransactionManager.class), false, 10, Duration.ofMillis(200), 10_000, 3);
+
+        assertThat(buffer.isEnabled()).isFalse();
+        buffer.close();
+    }
+
+    @Test
+    void fullBufferMakesCallersWriteThemselves() throws Exception {
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<TestData> batch = invocation.getArgument(0);
+            batchSizes.add(batch.size());
+            return batch;
+        });
+
+        TestDataWriteBehindBuffer buffer = new TestDataWriteBehindBuffer(
+                repository, mock(TestDataCounter.class), mock(PlatformTransactionManager.class), true, 100, Duration.ofHours(1), 5, 3);
+
+        for (int i = 0; i < 8; i++) {
+            buffer.add("job_data", "value" + i);
+        }
+
+        assertThat(buffer.getBufferedCount()).isEqualTo(5);
+        assertThat(batchSizes).containsExactly(1, 1, 1);
+
+        buffer.close();
+        assertThat(written()).isEqualTo(8);
+    }
+
+    @Test
+    void givesUpOnRecordsThatKeepFailing() throws Exception {
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<TestData> batch = invocation.getArgument(0);
+            batchSizes.add(batch.size());
+            return batch;
+        });
+        // Any batch containing the poisoned record fails
+        when(repository.saveAll(argThat(batch -> batch != null
+                && ((List<?>) batch).stream().anyMatch(d -> "poison".equals(((TestData) d).getValue())))))
+                .thenThrow(new IllegalStateException("constraint violation"));
+
+        TestDataWriteBehindBuffer buffer = new TestDataWriteBehindBuffer(
+                repository, mock(TestDataCounter.class), mock(PlatformTransactionManager.class), true, 10, Duration.ofHours(1), 100, 2);
+        buffer.add("job_data", "value1");
+        buffer.add("job_data", "poison");
+        buffer.add("job_data", "value2");
+
+        buffer.close();
+
+        // Two failed batch attempts, then the two good records alone; the poisoned one is dropped
+        assertThat(batchSizes).containsExactly(1, 1);
+        assertThat(buffer.getDroppedCount()).isEqualTo(1);
+        assertThat(buffer.getBufferedCount()).isZero();
+    }
+}
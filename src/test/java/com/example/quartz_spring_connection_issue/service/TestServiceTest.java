@@ -0,0 +1,108 @@
+package com.example.quartz_spring_connection_issue.service;
+
+import com.example.quartz_spring_connection_issue.datasource.ReadOnlyRoutingDataSource;
+import com.example.quartz_spring_connection_issue.datasource.ReplicaHealthMonitor;
+import com.example.quartz_spring_connection_issue.repository.TestDataJdbcRepository;
+import com.example.quartz_spring_connection_issue.repository.TestDataRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Replica routing combined with the job-scoped unit of work: {@code countData()} called inside a read-write
+ * transaction, as TestJob does, must still read from the replica. Two in-memory H2 databases stand in for
+ * primary and replica as in {@code ReadOnlyRoutingDataSourceTest}.
+ */
+class TestServiceTest {
+
+    private final DataSource primary = database("primary");
+
+    private final DataSource replica = database("replica");
+
+    private final TestDataCounter testDataCounter = mock(TestDataCounter.class);
+
+    private final List<String> countedOn = new ArrayList<>();
+
+    private ReplicaHealthMonitor health;
+
+    private TestService testService;
+
+    private TransactionTemplate jobUnitOfWork;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        health = new ReplicaHealthMonitor(primary, replica, Duration.ofSeconds(5), registry);
+        DataSource routing = ReadOnlyRoutingDataSource.lazy(primary, replica, health, registry);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(routing);
+        PlatformTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        jobUnitOfWork = new TransactionTemplate(transactionManager);
+
+        when(testDataCounter.count()).thenAnswer(invocation -> {
+            countedOn.add(jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class));
+            return 42L;
+        });
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(mock(SessionFactory.class));
+        @SuppressWarnings("unchecked")
+        ObjectProvider<ReplicaHealthMonitor> replicaHealth = mock(ObjectProvider.class);
+        when(replicaHealth.getIfAvailable()).thenReturn(health);
+
+        testService = new TestService(mock(TestDataRepository.class), mock(TestDataJdbcRepository.class),
+                testDataCounter, entityManagerFactory, transactionManager, replicaHealth);
+    }
+
+    @Test
+    void countInsideJobTransactionReadsHealthyReplica() {
+        replicate(System.currentTimeMillis());
+        health.check();
+
+        Long count = jobUnitOfWork.execute(status -> testService.countData());
+
+        assertThat(count).isEqualTo(42L);
+        assertThat(countedOn).containsExactly("replica");
+    }
+
+    @Test
+    void countInsideJobTransactionJoinsItWhileReplicaIsUnusable() {
+        // No heartbeat on the replica, so it is not usable and a second connection would only hit the primary
+        health.check();
+
+        jobUnitOfWork.executeWithoutResult(status -> testService.countData());
+
+        assertThat(countedOn).containsExactly("primary");
+    }
+
+    private void replicate(long beat) {
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT NOT NULL PRIMARY KEY, beat BIGINT NOT NULL)");
+        replicaJdbc.update("DELETE FROM replica_heartbeat");
+        replicaJdbc.update("INSERT INTO replica_heartbeat (id, beat) VALUES (1, ?)", beat);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:test-service-" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE whoami (name VARCHAR(16))");
+        jdbc.update("INSERT INTO whoami VALUES (?)", name);
+        return dataSource;
+    }
+}